@@ -0,0 +1,53 @@
+package com.travelquest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${enrichment.workers:4}")
+    private int enrichmentWorkers;
+
+    @Value("${enrichment.queue-capacity:500}")
+    private int enrichmentQueueCapacity;
+
+    @Value("${images.upload.concurrency:4}")
+    private int imageUploadConcurrency;
+
+    @Value("${images.upload.queue-capacity:50}")
+    private int imageUploadQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor enrichmentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(enrichmentWorkers);
+        executor.setMaxPoolSize(enrichmentWorkers);
+        executor.setQueueCapacity(enrichmentQueueCapacity);
+        executor.setThreadNamePrefix("enrichment-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Caps concurrent Cloudinary uploads per node; once the queue is full the request
+     * thread uploads itself, which throttles the caller instead of failing.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageUploadConcurrency);
+        executor.setMaxPoolSize(imageUploadConcurrency);
+        executor.setQueueCapacity(imageUploadQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,78 @@
+package com.travelquest.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Full-text search schema: a {@code search_vector} on adventures and collections,
+ * each with a GIN index.
+ * <p>
+ * The adventure document spans the {@code adventure_tags} element collection, which a
+ * generated column cannot reference, so it is kept current by triggers on both tables.
+ * Name weighs most, then tags, location and description. Collections only index their
+ * own columns and use a generated column. Every statement is idempotent.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SearchSchemaInitializer {
+
+    private static final List<String> STATEMENTS = List.of(
+            "ALTER TABLE adventures ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            """
+            CREATE OR REPLACE FUNCTION adventure_search_document(a_id bigint, a_name text, a_description text, a_location text)
+            RETURNS tsvector LANGUAGE sql STABLE AS $$
+                SELECT setweight(to_tsvector('english', coalesce(a_name, '')), 'A')
+                    || setweight(to_tsvector('english', coalesce(
+                           (SELECT string_agg(t.tags, ' ') FROM adventure_tags t WHERE t.adventure_id = a_id), '')), 'B')
+                    || setweight(to_tsvector('english', coalesce(a_location, '')), 'C')
+                    || setweight(to_tsvector('english', coalesce(a_description, '')), 'D')
+            $$
+            """,
+            """
+            CREATE OR REPLACE FUNCTION adventures_search_refresh() RETURNS trigger LANGUAGE plpgsql AS $$
+            BEGIN
+                NEW.search_vector := adventure_search_document(NEW.id, NEW.name, NEW.description, NEW.location);
+                RETURN NEW;
+            END
+            $$
+            """,
+            """
+            CREATE OR REPLACE FUNCTION adventure_tags_search_refresh() RETURNS trigger LANGUAGE plpgsql AS $$
+            DECLARE
+                target bigint := CASE WHEN TG_OP = 'DELETE' THEN OLD.adventure_id ELSE NEW.adventure_id END;
+            BEGIN
+                UPDATE adventures a
+                SET search_vector = adventure_search_document(a.id, a.name, a.description, a.location)
+                WHERE a.id = target;
+                RETURN NULL;
+            END
+            $$
+            """,
+            "DROP TRIGGER IF EXISTS adventures_search_refresh ON adventures",
+            // Only the indexed columns: like counter flushes and geocoding status writes skip it.
+            "CREATE TRIGGER adventures_search_refresh BEFORE INSERT OR UPDATE OF name, description, location "
+                    + "ON adventures FOR EACH ROW EXECUTE FUNCTION adventures_search_refresh()",
+            "DROP TRIGGER IF EXISTS adventure_tags_search_refresh ON adventure_tags",
+            "CREATE TRIGGER adventure_tags_search_refresh AFTER INSERT OR UPDATE OR DELETE "
+                    + "ON adventure_tags FOR EACH ROW EXECUTE FUNCTION adventure_tags_search_refresh()",
+            "UPDATE adventures SET search_vector = adventure_search_document(id, name, description, location) "
+                    + "WHERE search_vector IS NULL",
+            "CREATE INDEX IF NOT EXISTS idx_adventures_search ON adventures USING gin (search_vector)",
+            "ALTER TABLE collections ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS "
+                    + "(to_tsvector('english', coalesce(name, '') || ' ' || coalesce(description, ''))) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_collections_search ON collections USING gin (search_vector)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        STATEMENTS.forEach(jdbcTemplate::execute);
+    }
+}
@@ -0,0 +1,39 @@
+package com.travelquest.config;
+
+import com.travelquest.entity.Adventure;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Schema Hibernate cannot express: the generated {@code adventures.geog} column
+ * (when the schema is not managed by {@code ddl-auto}) and its GiST indexes.
+ * Runs once the entity manager is up; every statement is idempotent. The PostGIS
+ * extension itself is created by {@code schema.sql} before Hibernate starts.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SpatialSchemaInitializer {
+
+    private static final List<String> STATEMENTS = List.of(
+            "ALTER TABLE adventures ADD COLUMN IF NOT EXISTS geog " + Adventure.GEOG_DEFINITION,
+            // Radius and nearest-neighbour searches on the sphere.
+            "CREATE INDEX IF NOT EXISTS idx_adventures_public_geog ON adventures USING gist (geog) "
+                    + "WHERE public_visibility = true",
+            // Viewport searches in planar lon/lat, where a world-wide box is still valid.
+            "CREATE INDEX IF NOT EXISTS idx_adventures_public_geom ON adventures USING gist ((geog::geometry)) "
+                    + "WHERE public_visibility = true"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        STATEMENTS.forEach(jdbcTemplate::execute);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import com.travelquest.dto.AdventurePublicDTO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,7 +20,14 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.travelquest.dto.AdventureDTO;
+import com.travelquest.dto.ClusterDTO;
+import com.travelquest.dto.CursorPageDTO;
+import com.travelquest.dto.EnrichmentStatusDTO;
+import com.travelquest.dto.HeatCellDTO;
+import com.travelquest.dto.LikeStatusDTO;
+import com.travelquest.dto.SearchHitDTO;
 import com.travelquest.exceptions.ResourceNotFoundException;
+import com.travelquest.services.AdventureEnrichmentService;
 import com.travelquest.services.AdventureService;
 
 import lombok.RequiredArgsConstructor;
@@ -30,6 +38,7 @@ import lombok.RequiredArgsConstructor;
 public class AdventureController {
 
     private final AdventureService adventureService;
+    private final AdventureEnrichmentService adventureEnrichmentService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<AdventureDTO> createAdventure(
@@ -86,6 +95,11 @@ public class AdventureController {
         return ResponseEntity.ok(adventureService.getAdventureByIdAndEmail(id,auth.getName()));
     }
     
+    @GetMapping("/{id}/enrichment")
+    public ResponseEntity<EnrichmentStatusDTO> getEnrichmentStatus(@PathVariable Long id, Authentication auth) throws ResourceNotFoundException {
+        return ResponseEntity.ok(adventureEnrichmentService.getStatus(id, auth.getName()));
+    }
+    
     @GetMapping("/my")
     public ResponseEntity<List<AdventureDTO>> getAdventuresSorted(
             @RequestParam(defaultValue = "name") String sortBy,
@@ -99,28 +113,100 @@ public class AdventureController {
         return ResponseEntity.ok(sorted);
     }
     
+    @GetMapping("/my/search")
+    public ResponseEntity<CursorPageDTO<SearchHitDTO<AdventureDTO>>> searchMyAdventures(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) throws ResourceNotFoundException {
+        return ResponseEntity.ok(adventureService.searchMyAdventures(auth.getName(), q, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<SearchHitDTO<AdventurePublicDTO>>> searchPublicAdventures(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(adventureService.searchPublicAdventures(q, cursor, size));
+    }
+
+    /**
+     * @deprecated returns only the newest page; use {@code /feed/page} and follow its cursor.
+     */
+    @Deprecated
     @GetMapping("/feed")
-    public ResponseEntity<List<AdventurePublicDTO>> getPublicAdventures(Authentication auth){
+    public ResponseEntity<List<AdventurePublicDTO>> getPublicAdventures(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "all") String match,
+            Authentication auth){
+        if (tags != null && !tags.isEmpty()) {
+            return ResponseEntity.ok(adventureService.getPublicAdventuresByTags(tags, !"any".equalsIgnoreCase(match)));
+        }
     	List<AdventurePublicDTO> publicAdventures = adventureService.getPublicAdventures();
-    	return ResponseEntity.ok(publicAdventures);
+    	return ResponseEntity.ok()
+    	        .header("Deprecation", "true")
+    	        .header(HttpHeaders.LINK, "</api/adventures/feed/page>; rel=\"successor-version\"")
+    	        .body(publicAdventures);
+    }
+
+    @GetMapping("/feed/page")
+    public ResponseEntity<CursorPageDTO<AdventurePublicDTO>> getPublicFeedPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(adventureService.getPublicFeed(cursor, size));
+    }
+
+    @GetMapping("/feed/hot")
+    public ResponseEntity<List<AdventurePublicDTO>> getHotFeed(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(adventureService.getHotFeed(page, size));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<AdventurePublicDTO>> getNearbyAdventures(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "25") double radiusKm,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(adventureService.getNearbyAdventures(lat, lon, radiusKm, limit));
+    }
+
+    @GetMapping("/bbox")
+    public ResponseEntity<List<AdventurePublicDTO>> getAdventuresInBox(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(adventureService.getAdventuresInBox(bbox, limit));
+    }
+
+    @GetMapping("/clusters")
+    public ResponseEntity<List<ClusterDTO>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(adventureService.getClusters(bbox, zoom));
+    }
+
+    @GetMapping("/heatmap")
+    public ResponseEntity<List<HeatCellDTO>> getHeatmap(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "4") int precision) {
+        return ResponseEntity.ok(adventureService.getHeatmap(bbox, precision));
     }
 
     @GetMapping("/feed/{id}")
-    public ResponseEntity<AdventurePublicDTO> getPublicAdventures(@PathVariable Long id){
+    public ResponseEntity<AdventurePublicDTO> getPublicAdventures(@PathVariable Long id) throws ResourceNotFoundException {
         AdventurePublicDTO publicAdventures = adventureService.getPublicAdventure(id);
     	return ResponseEntity.ok(publicAdventures);
     }
 
     @PostMapping("/{id}/like")
-    public ResponseEntity<Void> likeAdventure(@PathVariable Long id, Authentication auth) throws ResourceNotFoundException {
-        adventureService.likeAdventure(id, auth.getName());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<LikeStatusDTO> likeAdventure(@PathVariable Long id, Authentication auth) throws ResourceNotFoundException {
+        return ResponseEntity.ok(adventureService.likeAdventure(id, auth.getName()));
     }
 
     @DeleteMapping("/{id}/like")
-    public ResponseEntity<Void> unlikeAdventure(@PathVariable Long id, Authentication auth) throws ResourceNotFoundException {
-        adventureService.unlikeAdventure(id, auth.getName());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<LikeStatusDTO> unlikeAdventure(@PathVariable Long id, Authentication auth) throws ResourceNotFoundException {
+        return ResponseEntity.ok(adventureService.unlikeAdventure(id, auth.getName()));
     }
 
     @GetMapping("/{id}/likes")
@@ -2,6 +2,8 @@ package com.travelquest.controllers;
 
 import com.travelquest.dto.AdventureDTO;
 import com.travelquest.dto.CollectionDTO;
+import com.travelquest.dto.ItineraryEntryDTO;
+import com.travelquest.dto.ItineraryMoveDTO;
 import com.travelquest.exceptions.ResourceNotFoundException;
 import com.travelquest.services.AdventureService;
 import com.travelquest.services.CollectionService;
@@ -84,6 +86,45 @@ public class CollectionController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{collectionId}/adventures")
+    public ResponseEntity<CollectionDTO> addAdventuresToCollection(
+            @PathVariable Long collectionId,
+            @RequestBody List<Long> adventureIds,
+            Authentication auth
+    ) throws AccessDeniedException, ResourceNotFoundException {
+        return ResponseEntity.ok(collectionService.addAdventuresToCollection(collectionId, adventureIds, auth.getName()));
+    }
+
+    @DeleteMapping("/{collectionId}/adventures")
+    public ResponseEntity<CollectionDTO> removeAdventuresFromCollection(
+            @PathVariable Long collectionId,
+            @RequestBody List<Long> adventureIds,
+            Authentication auth
+    ) throws AccessDeniedException, ResourceNotFoundException {
+        return ResponseEntity.ok(collectionService.removeAdventuresFromCollection(collectionId, adventureIds, auth.getName()));
+    }
+
+    @PatchMapping("/{collectionId}/adventures/{adventureId}/position")
+    public ResponseEntity<Void> moveAdventure(
+            @PathVariable Long collectionId,
+            @PathVariable Long adventureId,
+            @RequestBody ItineraryMoveDTO move,
+            Authentication auth
+    ) throws AccessDeniedException, ResourceNotFoundException {
+        collectionService.moveAdventure(collectionId, adventureId, move, auth.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{collectionId}/itinerary")
+    public ResponseEntity<Void> reorderItinerary(
+            @PathVariable Long collectionId,
+            @RequestBody List<ItineraryEntryDTO> entries,
+            Authentication auth
+    ) throws AccessDeniedException, ResourceNotFoundException {
+        collectionService.reorderItinerary(collectionId, entries, auth.getName());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/my")
     public ResponseEntity<List<CollectionDTO>> getMyCollectionsPaginated(
             @RequestParam(defaultValue = "0") int page,
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -21,4 +22,9 @@ public class DashboardController {
     public ResponseEntity<DashboardStatsDTO> getDashboardStats(Authentication auth) throws ResourceNotFoundException {
         return ResponseEntity.ok(dashboardService.getAdventureStats(auth.getName()));
     }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<DashboardStatsDTO> rebuildDashboardStats(Authentication auth) throws ResourceNotFoundException {
+        return ResponseEntity.ok(dashboardService.rebuildUserStats(auth.getName()));
+    }
 }
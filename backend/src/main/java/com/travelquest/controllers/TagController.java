@@ -0,0 +1,37 @@
+package com.travelquest.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.travelquest.dto.TagCountDTO;
+import com.travelquest.services.TagService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/tags")
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagService tagService;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TagCountDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tagService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<List<TagCountDTO>> facets(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(tagService.facets(tags, !"any".equalsIgnoreCase(match), limit));
+    }
+}
@@ -1,5 +1,6 @@
 package com.travelquest.dto;
 
+import com.travelquest.enums.GeoStatus;
 import lombok.Builder;
 import lombok.Data;
 
@@ -12,6 +13,7 @@ public class AdventureDTO {
     private Long id;
     private String name;
     private String location;
+    private GeoStatus geoStatus;
     private List<String> tags;
     private String description;
     private double rating;
@@ -23,6 +25,7 @@ public class AdventureDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long collectionId;
+    private Integer itineraryDay;
     private long likesCount;
     private boolean likedByCurrentUser;
 }
@@ -24,4 +24,5 @@ public class AdventurePublicDTO {
     private String author;
     private long likesCount;
     private boolean likedByCurrentUser;
+    private Double distanceKm;
 }
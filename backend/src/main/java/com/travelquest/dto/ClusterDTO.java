@@ -0,0 +1,17 @@
+package com.travelquest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A map marker: a cluster of {@code count} adventures at their centroid, or a single
+ * adventure ({@code count == 1}) at its exact position with its id.
+ */
+@Data
+@AllArgsConstructor
+public class ClusterDTO {
+    private double latitude;
+    private double longitude;
+    private int count;
+    private Long adventureId;
+}
@@ -0,0 +1,20 @@
+package com.travelquest.dto;
+
+import com.travelquest.enums.GeoStatus;
+import com.travelquest.enums.TaskStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class EnrichmentStatusDTO {
+    private Long adventureId;
+    private GeoStatus geoStatus;
+    private TaskStatus taskStatus;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private String location;
+}
@@ -0,0 +1,15 @@
+package com.travelquest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class HeatCellDTO {
+    private String geohash;
+    private double latitude;
+    private double longitude;
+    private int count;
+    private double averageRating;
+    private long totalLikes;
+}
@@ -0,0 +1,9 @@
+package com.travelquest.dto;
+
+import lombok.Data;
+
+@Data
+public class ItineraryEntryDTO {
+    private Long adventureId;
+    private Integer day;
+}
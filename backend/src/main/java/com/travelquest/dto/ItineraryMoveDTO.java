@@ -0,0 +1,15 @@
+package com.travelquest.dto;
+
+import lombok.Data;
+
+/**
+ * Target slot of a drag-and-drop move: the day ({@code null} for unscheduled) and the
+ * adventures that should end up directly before and after the moved one, either of
+ * which is {@code null} at the edge of the day.
+ */
+@Data
+public class ItineraryMoveDTO {
+    private Integer day;
+    private Long previousId;
+    private Long nextId;
+}
@@ -0,0 +1,12 @@
+package com.travelquest.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LikeStatusDTO {
+    private Long adventureId;
+    private boolean liked;
+    private long likesCount;
+}
@@ -0,0 +1,16 @@
+package com.travelquest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A ranked search result. Highlights wrap matched words in {@code <b>} tags.
+ */
+@Data
+@AllArgsConstructor
+public class SearchHitDTO<T> {
+    private T item;
+    private float rank;
+    private String nameHighlight;
+    private String descriptionHighlight;
+}
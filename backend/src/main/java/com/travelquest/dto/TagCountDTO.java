@@ -0,0 +1,11 @@
+package com.travelquest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TagCountDTO {
+    private String tag;
+    private int count;
+}
@@ -6,18 +6,27 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import org.locationtech.jts.geom.Point;
 
+import com.travelquest.enums.GeoStatus;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -27,27 +36,65 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Listing loads fetch-join the author through {@link #LISTING_GRAPH}; to-one joins keep
+ * SQL pagination intact. Images and tags are batch-fetched for a whole page at a time
+ * instead of being joined, which would multiply rows and force in-memory paging. The
+ * collection id is read from the lazy proxy without loading the collection.
+ */
+@NamedEntityGraph(name = Adventure.LISTING_GRAPH, attributeNodes = @NamedAttributeNode("user"))
 @Entity
-@Table(name = "adventures")
+@Table(name = "adventures", indexes = {
+        @Index(name = "idx_adventures_likes_count", columnList = "likesCount"),
+        @Index(name = "idx_adventures_public_feed", columnList = "publicVisibility, createdAt DESC, id DESC"),
+        @Index(name = "idx_adventures_itinerary", columnList = "collection_id, itineraryDay, itineraryPosition")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Adventure {
 
+    public static final String LISTING_GRAPH = "Adventure.listing";
+
+    public static final String GEOG_DEFINITION = "geography(Point,4326) GENERATED ALWAYS AS "
+            + "(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography) STORED";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String name;
     private String location;
+    private String city;
+    private String region;
+    private String country;
+
+    @Enumerated(EnumType.STRING)
+    private GeoStatus geoStatus;
+
     private double rating;
     private String description;
     private String link;
     private double latitude;
     private double longitude;
     private boolean publicVisibility;
+
+    /**
+     * Database-generated from latitude/longitude; see {@code SpatialSchemaInitializer}.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = Adventure.GEOG_DEFINITION)
+    private Point geog;
+
+    /**
+     * Denormalized like count, written behind by {@code LikeCountBuffer}.
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long likesCount;
+
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> tags;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,6 +102,8 @@ public class Adventure {
     private User user;
 
     @OneToMany(mappedBy = "adventure", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
+    @Builder.Default
     private List<AdventureImage> images = new ArrayList<>();
     
     @Column(nullable = false, updatable = false)
@@ -78,6 +127,18 @@ public class Adventure {
     @JoinColumn(name = "collection_id", nullable=true)
     private Collection collection;
 
+    /**
+     * 1-based day of the collection's trip, {@code null} while unscheduled.
+     */
+    private Integer itineraryDay;
+
+    /**
+     * Sparse sort key within the day: a move takes a key between its neighbours, so
+     * only the moved row is written. {@code ItineraryRebalancer} respaces tight days.
+     */
+    private Long itineraryPosition;
+
     @OneToMany(mappedBy = "adventure", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
     private Set<AdventureLike> likes = new HashSet<>();
 }
@@ -1,5 +1,7 @@
 package com.travelquest.entity;
 
+import com.travelquest.enums.ImageRendition;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,9 +17,34 @@ public class AdventureImage {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * The original upload; renditions below are derived from it by Cloudinary.
+     */
     private String url;
 
+    /**
+     * Provider id of the stored asset, used to delete it; {@code null} for images
+     * uploaded before it was recorded.
+     */
+    private String publicId;
+
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String fullUrl;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "adventure_id")
     private Adventure adventure;
+
+    public String urlFor(ImageRendition rendition) {
+        return rendition.pick(url, thumbnailUrl, cardUrl, fullUrl);
+    }
+
+    /**
+     * Whether {@code candidate} is the original or one of the renditions.
+     */
+    public boolean hasUrl(String candidate) {
+        return candidate != null && (candidate.equals(url) || candidate.equals(thumbnailUrl)
+                || candidate.equals(cardUrl) || candidate.equals(fullUrl));
+    }
 }
@@ -0,0 +1,70 @@
+package com.travelquest.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A stored image, keyed by its owner and the SHA-256 of its bytes, shared by every
+ * {@link AdventureImage} of that user with the same content. {@code refCount} counts
+ * those rows; the remote asset is deleted when it drops to zero. Assets live in the
+ * owner's folder and are never shared across users, but one asset may back several of
+ * the owner's adventures, so removing an adventure's images goes through the counts
+ * rather than deleting its folder.
+ */
+@Entity
+@Table(name = "image_assets", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "sha256"})
+}, indexes = {
+        @Index(name = "idx_image_assets_public_id", columnList = "publicId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private String publicId;
+
+    @Column(nullable = false)
+    private String url;
+
+    private String thumbnailUrl;
+
+    private String cardUrl;
+
+    private String fullUrl;
+
+    private int refCount;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import com.travelquest.enums.Role;
 
 import jakarta.persistence.CascadeType;
@@ -25,6 +27,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = 100)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,49 @@
+package com.travelquest.entity;
+
+import com.travelquest.enums.PlaceKind;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of a user's adventures located in one distinct city, region or country.
+ * The dashboard's distinct totals change only when a row is created or removed.
+ */
+@Entity
+@Table(name = "user_place_counts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "kind", "name"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPlaceCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PlaceKind kind;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private int refCount;
+}
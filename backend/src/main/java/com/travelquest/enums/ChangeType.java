@@ -0,0 +1,7 @@
+package com.travelquest.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,7 @@
+package com.travelquest.enums;
+
+public enum GeocodingMode {
+    LOCAL,
+    REMOTE,
+    HYBRID
+}
@@ -0,0 +1,24 @@
+package com.travelquest.enums;
+
+/**
+ * Stored sizes of an adventure photo: thumbnails for lists, cards for card layouts and
+ * full for detail views.
+ */
+public enum ImageRendition {
+    THUMBNAIL,
+    CARD,
+    FULL;
+
+    /**
+     * Picks this rendition's URL, falling back to the original for images uploaded
+     * before renditions were generated.
+     */
+    public String pick(String original, String thumbnail, String card, String full) {
+        String url = switch (this) {
+            case THUMBNAIL -> thumbnail;
+            case CARD -> card;
+            case FULL -> full;
+        };
+        return url != null ? url : original;
+    }
+}
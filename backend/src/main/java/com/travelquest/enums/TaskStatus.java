@@ -0,0 +1,8 @@
+package com.travelquest.enums;
+
+public enum TaskStatus {
+    PENDING,
+    IN_PROGRESS,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,31 @@
+package com.travelquest.events;
+
+import com.travelquest.entity.Adventure;
+import com.travelquest.enums.ChangeType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published after an adventure is created, updated or deleted. Carries a detached
+ * snapshot so listeners running after commit never touch lazy associations.
+ */
+public record AdventureChangedEvent(
+        ChangeType type,
+        Long adventureId,
+        boolean publicVisibility,
+        LocalDateTime createdAt,
+        double latitude,
+        double longitude,
+        double rating,
+        long likesCount,
+        List<String> tags
+) {
+    public static AdventureChangedEvent of(ChangeType type, Adventure adventure) {
+        return new AdventureChangedEvent(type, adventure.getId(), adventure.isPublicVisibility(),
+                adventure.getCreatedAt(), adventure.getLatitude(), adventure.getLongitude(),
+                adventure.getRating(), adventure.getLikesCount(),
+                adventure.getTags() != null ? new ArrayList<>(adventure.getTags()) : List.of());
+    }
+}
@@ -0,0 +1,8 @@
+package com.travelquest.events;
+
+/**
+ * Published when a like is added or removed. {@code likedAtMillis} is the like's
+ * creation time as epoch millis of its local timestamp; adventure and user identify
+ * the like, so index rebuilds can tell whether their snapshot already contains it.
+ */
+public record AdventureLikedEvent(Long adventureId, Long userId, long likedAtMillis, boolean liked) {}
@@ -0,0 +1,20 @@
+package com.travelquest.projections;
+
+import com.travelquest.enums.GeoStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of an adventure as selected by the owner-facing list queries. Rows are
+ * plain values, never attached to the persistence context.
+ */
+public record AdventureRow(Long id, String name, String location, GeoStatus geoStatus,
+                           double latitude, double longitude, Long collectionId, Integer itineraryDay,
+                           boolean publicVisibility, double rating, String description, String link,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, long likesCount) {
+
+    public static final String SELECT = "SELECT new com.travelquest.projections.AdventureRow("
+            + "a.id, a.name, a.location, a.geoStatus, a.latitude, a.longitude, a.collection.id, a.itineraryDay, "
+            + "a.publicVisibility, a.rating, a.description, a.link, a.createdAt, a.updatedAt, a.likesCount) "
+            + "FROM Adventure a ";
+}
@@ -0,0 +1,34 @@
+package com.travelquest.projections;
+
+/**
+ * A collection with its adventure count and ids aggregated in SQL, so listing
+ * collections never initializes their adventure lists.
+ */
+public interface CollectionSummary {
+
+    /**
+     * Select list and aggregation around a {@code collections} row source aliased
+     * {@code c}; pagination belongs inside the row source so only one page is joined.
+     */
+    String SELECT = "SELECT c.id AS id, c.name AS name, c.description AS description, "
+            + "c.cover_image AS \"coverImage\", c.duration_in_days AS \"durationInDays\", "
+            + "count(a.id) AS \"adventureCount\", "
+            + "array_remove(array_agg(a.id ORDER BY a.id), NULL) AS \"adventureIds\" FROM ";
+
+    String GROUP = " c LEFT JOIN adventures a ON a.collection_id = c.id "
+            + "GROUP BY c.id, c.name, c.description, c.cover_image, c.duration_in_days";
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getCoverImage();
+
+    int getDurationInDays();
+
+    long getAdventureCount();
+
+    Long[] getAdventureIds();
+}
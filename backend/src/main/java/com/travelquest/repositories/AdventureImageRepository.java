@@ -2,6 +2,14 @@ package com.travelquest.repositories;
 
 import com.travelquest.entity.AdventureImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface AdventureImageRepository extends JpaRepository<AdventureImage, Long> {
+
+    @Query("SELECT i.adventure.id, i.url, i.thumbnailUrl, i.cardUrl, i.fullUrl FROM AdventureImage i " +
+            "WHERE i.adventure.id IN :adventureIds ORDER BY i.id")
+    List<Object[]> findUrlsByAdventureIdIn(@Param("adventureIds") List<Long> adventureIds);
 }
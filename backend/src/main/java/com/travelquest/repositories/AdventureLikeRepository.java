@@ -2,9 +2,54 @@ package com.travelquest.repositories;
 
 import com.travelquest.entity.AdventureLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface AdventureLikeRepository extends JpaRepository<AdventureLike, Long> {
     boolean existsByAdventureIdAndUserId(Long adventureId, Long userId);
     long countByAdventureId(Long adventureId);
     void deleteByAdventureIdAndUserId(Long adventureId, Long userId);
+
+    @Query("SELECT l.adventure.id FROM AdventureLike l WHERE l.user.id = :userId AND l.adventure.id IN :ids")
+    Set<Long> findLikedAdventureIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Likes in one statement; returns 0 if already liked or the adventure does not exist.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO adventure_likes (adventure_id, user_id, created_at) " +
+            "SELECT a.id, :userId, :createdAt FROM adventures a WHERE a.id = :adventureId " +
+            "ON CONFLICT (adventure_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("adventureId") Long adventureId, @Param("userId") Long userId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Unlikes in one statement and returns the removed like's creation time as epoch
+     * millis of its local timestamp; empty if there was nothing to remove.
+     */
+    @Query(value = "DELETE FROM adventure_likes l WHERE l.adventure_id = :adventureId AND l.user_id = :userId " +
+            "RETURNING CAST(EXTRACT(EPOCH FROM l.created_at) * 1000 AS bigint)", nativeQuery = true)
+    List<Long> deleteReturningCreatedAt(@Param("adventureId") Long adventureId, @Param("userId") Long userId);
+
+    @Query("SELECT l.adventure.id, l.createdAt FROM AdventureLike l " +
+            "WHERE l.adventure.publicVisibility = true AND l.createdAt >= :since")
+    List<Object[]> findPublicLikeTimesSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Likes among the given adventures by the given users; a superset of the pairs an
+     * index rebuild asks about, bounded by the two lists.
+     */
+    @Query("SELECT l.adventure.id, l.user.id FROM AdventureLike l " +
+            "WHERE l.adventure.id IN :adventureIds AND l.user.id IN :userIds")
+    List<Object[]> findLikesAmong(@Param("adventureIds") Collection<Long> adventureIds,
+                                  @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT l.createdAt FROM AdventureLike l WHERE l.adventure.id = :adventureId AND l.createdAt >= :since")
+    List<LocalDateTime> findLikeTimesSince(@Param("adventureId") Long adventureId, @Param("since") LocalDateTime since);
 }
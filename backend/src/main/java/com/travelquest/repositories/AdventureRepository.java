@@ -2,21 +2,250 @@ package com.travelquest.repositories;
 
 import com.travelquest.entity.Adventure;
 import com.travelquest.entity.User;
+import com.travelquest.enums.GeoStatus;
+import com.travelquest.projections.AdventureRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface AdventureRepository extends JpaRepository<Adventure, Long> {
-    List<Adventure> findByUser(User user);
-    Page<Adventure> findByUser(User user, Pageable pageable);
-    Page<Adventure> findByUserAndNameContainingIgnoreCase(User user, String location, Pageable pageable);
-    List<Adventure> findByUserAndCollectionIsNull(User user);
-    List<Adventure> findByPublicVisibility(boolean publicVisibility);
-    Adventure findByPublicVisibilityAndId(boolean publicVisibility,Long id);
-    List<Adventure> findAllByCollectionIdAndCollectionUserEmail(Long collectionId, String email);
+    long countByUser(User user);
+    long countByCollectionId(Long collectionId);
+    @EntityGraph(Adventure.LISTING_GRAPH)
+    Optional<Adventure> findByPublicVisibilityAndId(boolean publicVisibility, Long id);
+
+    @Query(AdventureRow.SELECT + "WHERE a.user.id = :userId")
+    List<AdventureRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query(value = AdventureRow.SELECT + "WHERE a.user.id = :userId",
+            countQuery = "SELECT count(a) FROM Adventure a WHERE a.user.id = :userId")
+    Page<AdventureRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(AdventureRow.SELECT + "WHERE a.user.id = :userId AND a.collection IS NULL")
+    List<AdventureRow> findUnassignedRowsByUserId(@Param("userId") Long userId);
+
+    @Query(AdventureRow.SELECT + "WHERE a.collection.id = :collectionId AND a.collection.user.email = :email " +
+            "ORDER BY a.itineraryDay NULLS LAST, a.itineraryPosition NULLS LAST, a.id")
+    List<AdventureRow> findRowsByCollection(@Param("collectionId") Long collectionId, @Param("email") String email);
+
+    @Query(AdventureRow.SELECT + "WHERE a.id IN :ids")
+    List<AdventureRow> findRowsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT a.id, t FROM Adventure a JOIN a.tags t WHERE a.id IN :ids")
+    List<Object[]> findTagsByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Loads a page of adventures by id with their authors; images and tags follow in
+     * one batch query each.
+     */
+    @Override
+    @EntityGraph(Adventure.LISTING_GRAPH)
+    List<Adventure> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Adventure.LISTING_GRAPH)
+    @Query("SELECT a FROM Adventure a WHERE a.publicVisibility = true ORDER BY a.createdAt DESC, a.id DESC")
+    List<Adventure> findPublicFeed(Pageable pageable);
+
+    @EntityGraph(Adventure.LISTING_GRAPH)
+    @Query("SELECT a FROM Adventure a WHERE a.publicVisibility = true " +
+            "AND (a.createdAt, a.id) < (:createdAt, :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Adventure> findPublicFeedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT a.id, a.createdAt FROM Adventure a WHERE a.publicVisibility = true")
+    List<Object[]> findPublicIdsAndCreatedAt();
+
+    /**
+     * Ids and distances in metres of public adventures within {@code meters} of the
+     * point, nearest first. Served by the GiST index on {@code geog}.
+     */
+    @Query(value = "SELECT a.id, ST_Distance(a.geog, CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography)) " +
+            "FROM adventures a WHERE a.public_visibility = true " +
+            "AND ST_DWithin(a.geog, CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography), :meters) " +
+            "ORDER BY a.geog <-> CAST(ST_SetSRID(ST_MakePoint(:lon, :lat), 4326) AS geography) LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findPublicNearby(@Param("lat") double latitude, @Param("lon") double longitude,
+                                    @Param("meters") double meters, @Param("limit") int limit);
+
+    @Query(value = "SELECT a.* FROM adventures a WHERE a.public_visibility = true " +
+            "AND CAST(a.geog AS geometry) && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326) " +
+            "ORDER BY a.likes_count DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<Adventure> findPublicInBox(@Param("minLon") double minLon, @Param("minLat") double minLat,
+                                    @Param("maxLon") double maxLon, @Param("maxLat") double maxLat,
+                                    @Param("limit") int limit);
+
+    @Query("SELECT a.id, a.latitude, a.longitude FROM Adventure a WHERE a.publicVisibility = true")
+    List<Object[]> findPublicPositions();
+
+    /**
+     * Likes are counted from the like rows, not the write-behind {@code likesCount}, so
+     * the totals match the snapshot the heatmap rebuild checks journaled likes against.
+     */
+    @Query("SELECT a.id, a.latitude, a.longitude, a.rating, " +
+            "(SELECT COUNT(l) FROM AdventureLike l WHERE l.adventure = a) " +
+            "FROM Adventure a WHERE a.publicVisibility = true")
+    List<Object[]> findPublicHeatmapRows();
+
+    /**
+     * Ranked full-text matches among public adventures after the {@code (rank, id)}
+     * cursor: id, rank, highlighted name and highlighted description excerpt.
+     */
+    @Query(value = "SELECT r.id, r.rank, " +
+            "ts_headline('english', coalesce(r.name, ''), to_tsquery('english', :query), 'HighlightAll=true'), " +
+            "ts_headline('english', coalesce(r.description, ''), to_tsquery('english', :query), " +
+            "'MaxFragments=2, MinWords=8, MaxWords=20') " +
+            "FROM (SELECT a.id, a.name, a.description, ts_rank(a.search_vector, to_tsquery('english', :query)) AS rank " +
+            "FROM adventures a WHERE a.public_visibility = true AND a.search_vector @@ to_tsquery('english', :query) " +
+            "AND (ts_rank(a.search_vector, to_tsquery('english', :query)), a.id) < (CAST(:rank AS real), :id) " +
+            "ORDER BY rank DESC, a.id DESC LIMIT :limit) r " +
+            "ORDER BY r.rank DESC, r.id DESC", nativeQuery = true)
+    List<Object[]> searchPublic(@Param("query") String query, @Param("rank") float rank, @Param("id") long id,
+                                @Param("limit") int limit);
+
+    @Query(value = "SELECT r.id, r.rank, " +
+            "ts_headline('english', coalesce(r.name, ''), to_tsquery('english', :query), 'HighlightAll=true'), " +
+            "ts_headline('english', coalesce(r.description, ''), to_tsquery('english', :query), " +
+            "'MaxFragments=2, MinWords=8, MaxWords=20') " +
+            "FROM (SELECT a.id, a.name, a.description, ts_rank(a.search_vector, to_tsquery('english', :query)) AS rank " +
+            "FROM adventures a WHERE a.user_id = :userId AND a.search_vector @@ to_tsquery('english', :query) " +
+            "AND (ts_rank(a.search_vector, to_tsquery('english', :query)), a.id) < (CAST(:rank AS real), :id) " +
+            "ORDER BY rank DESC, a.id DESC LIMIT :limit) r " +
+            "ORDER BY r.rank DESC, r.id DESC", nativeQuery = true)
+    List<Object[]> searchByUser(@Param("userId") Long userId, @Param("query") String query, @Param("rank") float rank,
+                                @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Full-text filter for the owner's listing; sort by column names.
+     */
+    @Query(value = "SELECT a.id FROM adventures a " +
+            "WHERE a.user_id = :userId AND a.search_vector @@ to_tsquery('english', :query)",
+            countQuery = "SELECT count(*) FROM adventures a " +
+                    "WHERE a.user_id = :userId AND a.search_vector @@ to_tsquery('english', :query)",
+            nativeQuery = true)
+    Page<Long> findIdsByUserMatching(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
+
+    @Query("SELECT a.id, t FROM Adventure a JOIN a.tags t WHERE a.publicVisibility = true")
+    List<Object[]> findPublicTags();
+
+    @Query("SELECT a.id FROM Adventure a WHERE a.id IN :ids AND a.user.id = :userId AND a.collection IS NULL")
+    List<Long> findAssignableIds(@Param("ids") List<Long> ids, @Param("userId") Long userId);
+
+    @Query("SELECT a.id FROM Adventure a WHERE a.id IN :ids AND a.user.id = :userId " +
+            "AND (a.collection IS NULL OR a.collection.id = :collectionId)")
+    List<Long> findAssignableIds(@Param("ids") List<Long> ids, @Param("userId") Long userId,
+                                 @Param("collectionId") Long collectionId);
+
+    /**
+     * Moves the caller's unassigned adventures into a collection, appending them to its
+     * unscheduled itinerary in id order; members keep their slots. Adventures in another
+     * collection are left alone. Rows are only touched when both the adventures and the
+     * collection belong to {@code userId}.
+     */
+    @Modifying
+    @Query(value = "UPDATE adventures a SET collection_id = :collectionId, updated_at = :now, " +
+            "itinerary_day = CASE WHEN a.collection_id = :collectionId THEN a.itinerary_day END, " +
+            "itinerary_position = CASE WHEN a.collection_id = :collectionId THEN a.itinerary_position " +
+            "ELSE (SELECT coalesce(max(m.itinerary_position), 0) FROM adventures m " +
+            "WHERE m.collection_id = :collectionId) + :gap * n.rn END " +
+            "FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM adventures WHERE id IN (:ids)) n " +
+            "WHERE a.id = n.id AND a.user_id = :userId " +
+            "AND (a.collection_id IS NULL OR a.collection_id = :collectionId) " +
+            "AND EXISTS (SELECT 1 FROM collections c WHERE c.id = :collectionId AND c.user_id = :userId)",
+            nativeQuery = true)
+    int assignToCollection(@Param("collectionId") Long collectionId, @Param("ids") List<Long> ids,
+                           @Param("userId") Long userId, @Param("gap") long gap, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE adventures SET collection_id = NULL, itinerary_day = NULL, itinerary_position = NULL, " +
+            "updated_at = :now " +
+            "WHERE id IN (:ids) AND user_id = :userId AND collection_id = :collectionId " +
+            "AND EXISTS (SELECT 1 FROM collections c WHERE c.id = :collectionId AND c.user_id = :userId)",
+            nativeQuery = true)
+    int removeFromCollection(@Param("collectionId") Long collectionId, @Param("ids") List<Long> ids,
+                             @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE adventures SET collection_id = NULL, itinerary_day = NULL, itinerary_position = NULL " +
+            "WHERE collection_id = :collectionId", nativeQuery = true)
+    int detachCollection(@Param("collectionId") Long collectionId);
+
+    @Query("SELECT a.id, a.itineraryDay, a.itineraryPosition FROM Adventure a " +
+            "WHERE a.collection.id = :collectionId AND a.id IN :ids")
+    List<Object[]> findItinerarySlots(@Param("collectionId") Long collectionId, @Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Adventure a SET a.itineraryDay = :day, a.itineraryPosition = :position " +
+            "WHERE a.id = :id AND a.collection.id = :collectionId")
+    int moveInItinerary(@Param("collectionId") Long collectionId, @Param("id") Long id,
+                        @Param("day") Integer day, @Param("position") long position);
+
+    /**
+     * Renumbers each day of a collection's itinerary to multiples of {@code gap},
+     * keeping the current order; unpositioned members go last.
+     */
+    @Modifying
+    @Query(value = "UPDATE adventures a SET itinerary_position = r.rn * :gap " +
+            "FROM (SELECT id, row_number() OVER (PARTITION BY itinerary_day " +
+            "ORDER BY itinerary_position NULLS LAST, id) AS rn FROM adventures WHERE collection_id = :collectionId) r " +
+            "WHERE a.id = r.id AND a.itinerary_position IS DISTINCT FROM r.rn * :gap", nativeQuery = true)
+    int rebalanceItinerary(@Param("collectionId") Long collectionId, @Param("gap") long gap);
+
+    /**
+     * Collections with an unpositioned member or two neighbouring keys closer than
+     * {@code minGap} on the same day.
+     */
+    @Query(value = "SELECT DISTINCT g.collection_id FROM (SELECT collection_id, itinerary_position, " +
+            "itinerary_position - lag(itinerary_position) OVER (PARTITION BY collection_id, itinerary_day " +
+            "ORDER BY itinerary_position) AS gap FROM adventures WHERE collection_id IS NOT NULL) g " +
+            "WHERE g.itinerary_position IS NULL OR g.gap < :minGap LIMIT :limit", nativeQuery = true)
+    List<Long> findCollectionsToRebalance(@Param("minGap") long minGap, @Param("limit") int limit);
+
+    @Query("SELECT a.user FROM Adventure a WHERE a.id = :id")
+    Optional<User> findUserById(@Param("id") Long id);
+
+    @Query("SELECT a.likesCount FROM Adventure a WHERE a.id = :id")
+    Optional<Long> findLikesCountById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Adventure a SET a.likesCount = a.likesCount + :delta WHERE a.id IN :ids")
+    int addLikes(@Param("ids") List<Long> ids, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE adventures a SET likes_count = c.likes " +
+            "FROM (SELECT ad.id, COUNT(l.id) AS likes FROM adventures ad " +
+            "LEFT JOIN adventure_likes l ON l.adventure_id = ad.id GROUP BY ad.id) c " +
+            "WHERE a.id = c.id AND a.likes_count <> c.likes", nativeQuery = true)
+    int reconcileLikeCounts();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Adventure a WHERE a.id = :id")
+    Optional<Adventure> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Adventure a SET a.geoStatus = :status WHERE a.id IN :ids")
+    int markGeoStatus(@Param("ids") List<Long> ids, @Param("status") GeoStatus status);
+
+    @Modifying
+    @Query("UPDATE Adventure a SET a.city = :city, a.region = :region, a.country = :country, " +
+            "a.location = :location, a.geoStatus = :status " +
+            "WHERE a.id = :id AND a.latitude = :latitude AND a.longitude = :longitude")
+    int applyGeocode(@Param("id") Long id, @Param("latitude") double latitude, @Param("longitude") double longitude,
+                     @Param("city") String city, @Param("region") String region, @Param("country") String country,
+                     @Param("location") String location, @Param("status") GeoStatus status);
+
+    @Modifying
+    @Query("UPDATE Adventure a SET a.location = :location, a.geoStatus = :status " +
+            "WHERE a.id = :id AND a.geoStatus = :expected")
+    int markGeoFailed(@Param("id") Long id, @Param("location") String location,
+                      @Param("status") GeoStatus status, @Param("expected") GeoStatus expected);
 }
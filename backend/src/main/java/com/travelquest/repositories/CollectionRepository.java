@@ -1,18 +1,40 @@
 package com.travelquest.repositories;
 
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.travelquest.entity.Adventure;
 import com.travelquest.entity.Collection;
-import com.travelquest.entity.User;
+import com.travelquest.projections.CollectionSummary;
 
 public interface CollectionRepository extends JpaRepository<Collection, Long> {
-    Page<Collection> findByUser(User user, Pageable pageable);
-    Page<Collection> findByUserAndNameContainingIgnoreCase(User user, String name, Pageable pageable);
+
+    @Query("SELECT c.user.id FROM Collection c WHERE c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @Query(value = CollectionSummary.SELECT + "(SELECT * FROM collections WHERE user_id = :userId)"
+            + CollectionSummary.GROUP + " ORDER BY c.id", nativeQuery = true)
+    List<CollectionSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(value = CollectionSummary.SELECT + "(SELECT * FROM collections WHERE user_id = :userId "
+            + "ORDER BY id LIMIT :limit OFFSET :offset)"
+            + CollectionSummary.GROUP + " ORDER BY c.id", nativeQuery = true)
+    List<CollectionSummary> findSummariesByUserId(@Param("userId") Long userId, @Param("limit") int limit,
+                                                  @Param("offset") long offset);
+
+    @Query(value = CollectionSummary.SELECT + "(SELECT * FROM collections WHERE id = :id)"
+            + CollectionSummary.GROUP, nativeQuery = true)
+    Optional<CollectionSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(value = CollectionSummary.SELECT + "(SELECT *, ts_rank(search_vector, to_tsquery('english', :query)) AS rank "
+            + "FROM collections WHERE user_id = :userId AND search_vector @@ to_tsquery('english', :query) "
+            + "ORDER BY rank DESC, id DESC LIMIT :limit OFFSET :offset)"
+            + CollectionSummary.GROUP + ", c.rank ORDER BY c.rank DESC, c.id DESC", nativeQuery = true)
+    List<CollectionSummary> searchSummariesByUser(@Param("userId") Long userId, @Param("query") String query,
+                                                  @Param("limit") int limit, @Param("offset") long offset);
 
 }
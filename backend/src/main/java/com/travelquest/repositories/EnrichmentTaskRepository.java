@@ -0,0 +1,64 @@
+package com.travelquest.repositories;
+
+import com.travelquest.entity.EnrichmentTask;
+import com.travelquest.enums.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EnrichmentTaskRepository extends JpaRepository<EnrichmentTask, Long> {
+    Optional<EnrichmentTask> findByAdventureId(Long adventureId);
+
+    /**
+     * Locks up to {@code limit} due tasks, skipping rows another node already holds.
+     * Tasks left IN_PROGRESS past their lease are picked up again.
+     */
+    @Query(value = "SELECT id FROM enrichment_tasks " +
+            "WHERE status IN ('PENDING', 'IN_PROGRESS') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueTaskIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EnrichmentTask t SET t.status = :status, t.attempts = t.attempts + 1, " +
+            "t.nextAttemptAt = :leaseUntil, t.claimToken = :claimToken, t.updatedAt = :now WHERE t.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("status") TaskStatus status, @Param("claimToken") String claimToken,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a task out of {@code from}; a no-op if it was re-enqueued, re-claimed or
+     * finished meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE EnrichmentTask t SET t.status = :to, t.nextAttemptAt = :nextAttemptAt, " +
+            "t.lastError = :lastError, t.updatedAt = :now " +
+            "WHERE t.id = :id AND t.status = :from AND t.claimToken = :claimToken")
+    int transition(@Param("id") Long id, @Param("claimToken") String claimToken,
+                   @Param("from") TaskStatus from, @Param("to") TaskStatus to,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Creates the adventure's task or resets it to PENDING in one statement, so
+     * concurrent enqueues never collide on the unique {@code adventure_id}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO enrichment_tasks " +
+            "(adventure_id, status, attempts, next_attempt_at, last_error, claim_token, created_at, updated_at) " +
+            "VALUES (:adventureId, 'PENDING', 0, :now, NULL, NULL, :now, :now) " +
+            "ON CONFLICT (adventure_id) DO UPDATE SET status = 'PENDING', attempts = 0, " +
+            "next_attempt_at = :now, last_error = NULL, claim_token = NULL, updated_at = :now", nativeQuery = true)
+    void upsertPending(@Param("adventureId") Long adventureId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EnrichmentTask t WHERE t.adventureId = :adventureId")
+    void deleteByAdventureId(@Param("adventureId") Long adventureId);
+
+    @Query("SELECT a.id FROM Adventure a WHERE a.geoStatus IS NULL " +
+            "AND NOT EXISTS (SELECT t FROM EnrichmentTask t WHERE t.adventureId = a.id)")
+    List<Long> findAdventureIdsWithoutTask();
+}
@@ -0,0 +1,19 @@
+package com.travelquest.repositories;
+
+import com.travelquest.entity.ImageAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, Long> {
+
+    @Query("SELECT a.publicId FROM ImageAsset a WHERE a.publicId IN :publicIds AND a.refCount <= 0")
+    List<String> findUnreferencedPublicIds(@Param("publicIds") List<String> publicIds);
+
+    @Modifying
+    @Query("DELETE FROM ImageAsset a WHERE a.publicId IN :publicIds AND a.refCount <= 0")
+    int deleteUnreferenced(@Param("publicIds") List<String> publicIds);
+}
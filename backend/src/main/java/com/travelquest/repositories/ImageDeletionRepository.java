@@ -0,0 +1,40 @@
+package com.travelquest.repositories;
+
+import com.travelquest.entity.ImageDeletion;
+import com.travelquest.enums.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ImageDeletionRepository extends JpaRepository<ImageDeletion, Long> {
+
+    /**
+     * Locks up to {@code limit} due deletions, skipping rows another node already holds.
+     * Deletions left IN_PROGRESS past their lease are picked up again.
+     */
+    @Query(value = "SELECT id FROM image_deletions " +
+            "WHERE status IN ('PENDING', 'IN_PROGRESS') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE ImageDeletion d SET d.status = :status, d.attempts = d.attempts + 1, " +
+            "d.nextAttemptAt = :leaseUntil, d.updatedAt = :now WHERE d.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("status") TaskStatus status,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ImageDeletion d SET d.status = :status, d.nextAttemptAt = :nextAttemptAt, " +
+            "d.lastError = :lastError, d.updatedAt = :now WHERE d.id = :id")
+    int reschedule(@Param("id") Long id, @Param("status") TaskStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM ImageDeletion d WHERE d.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,45 @@
+package com.travelquest.repositories;
+
+import com.travelquest.entity.UserPlaceCount;
+import com.travelquest.enums.PlaceKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserPlaceCountRepository extends JpaRepository<UserPlaceCount, Long> {
+
+    @Modifying
+    @Query("UPDATE UserPlaceCount p SET p.refCount = p.refCount + 1 " +
+            "WHERE p.userId = :userId AND p.kind = :kind AND p.name = :name")
+    int increment(@Param("userId") Long userId, @Param("kind") PlaceKind kind, @Param("name") String name);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_place_counts (user_id, kind, name, ref_count) VALUES (:userId, :kind, :name, 1) " +
+            "ON CONFLICT (user_id, kind, name) DO NOTHING", nativeQuery = true)
+    int insertFirst(@Param("userId") Long userId, @Param("kind") String kind, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE UserPlaceCount p SET p.refCount = p.refCount - 1 " +
+            "WHERE p.userId = :userId AND p.kind = :kind AND p.name = :name AND p.refCount > 1")
+    int decrement(@Param("userId") Long userId, @Param("kind") PlaceKind kind, @Param("name") String name);
+
+    @Modifying
+    @Query("DELETE FROM UserPlaceCount p " +
+            "WHERE p.userId = :userId AND p.kind = :kind AND p.name = :name AND p.refCount <= 1")
+    int deleteLast(@Param("userId") Long userId, @Param("kind") PlaceKind kind, @Param("name") String name);
+
+    @Modifying
+    @Query("DELETE FROM UserPlaceCount p WHERE p.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_place_counts (user_id, kind, name, ref_count) " +
+            "SELECT user_id, 'CITY', city, COUNT(*) FROM adventures WHERE user_id = :userId AND city IS NOT NULL GROUP BY user_id, city " +
+            "UNION ALL SELECT user_id, 'REGION', region, COUNT(*) FROM adventures WHERE user_id = :userId AND region IS NOT NULL GROUP BY user_id, region " +
+            "UNION ALL SELECT user_id, 'COUNTRY', country, COUNT(*) FROM adventures WHERE user_id = :userId AND country IS NOT NULL GROUP BY user_id, country",
+            nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    long countByUserIdAndKind(Long userId, PlaceKind kind);
+}
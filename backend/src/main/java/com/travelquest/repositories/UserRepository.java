@@ -1,12 +1,39 @@
 package com.travelquest.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.travelquest.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    /**
+     * Users without place reference counts whose distinct totals are non-zero or who
+     * already have located adventures, i.e. totals still from the full recompute.
+     */
+    @Query("SELECT u.id FROM User u WHERE NOT EXISTS (SELECT p.id FROM UserPlaceCount p WHERE p.userId = u.id) " +
+            "AND (u.dashboardStats.totalCities > 0 OR u.dashboardStats.totalRegions > 0 " +
+            "OR u.dashboardStats.totalCountries > 0 OR EXISTS (SELECT a.id FROM Adventure a WHERE a.user = u " +
+            "AND (a.city IS NOT NULL OR a.region IS NOT NULL OR a.country IS NOT NULL)))")
+    List<Long> findIdsWithUnseededPlaceCounts();
+
+    @Modifying
+    @Query("UPDATE User u SET u.dashboardStats.totalAdventures = u.dashboardStats.totalAdventures + :adventures, " +
+            "u.dashboardStats.totalCities = u.dashboardStats.totalCities + :cities, " +
+            "u.dashboardStats.totalRegions = u.dashboardStats.totalRegions + :regions, " +
+            "u.dashboardStats.totalCountries = u.dashboardStats.totalCountries + :countries " +
+            "WHERE u.id = :userId")
+    int adjustDashboardStats(@Param("userId") Long userId, @Param("adventures") int adventures,
+                             @Param("cities") int cities, @Param("regions") int regions,
+                             @Param("countries") int countries);
 }
@@ -0,0 +1,11 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.EnrichmentStatusDTO;
+import com.travelquest.entity.Adventure;
+import com.travelquest.exceptions.ResourceNotFoundException;
+
+public interface AdventureEnrichmentService {
+    void enqueue(Adventure adventure);
+    void discard(Long adventureId);
+    EnrichmentStatusDTO getStatus(Long adventureId, String email) throws ResourceNotFoundException;
+}
@@ -0,0 +1,204 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.EnrichmentStatusDTO;
+import com.travelquest.entity.Adventure;
+import com.travelquest.entity.EnrichmentTask;
+import com.travelquest.enums.GeoStatus;
+import com.travelquest.enums.TaskStatus;
+import com.travelquest.exceptions.ResourceNotFoundException;
+import com.travelquest.repositories.AdventureRepository;
+import com.travelquest.repositories.EnrichmentTaskRepository;
+import com.travelquest.utils.map.MapUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves adventure locations off the request path.
+ * <p>
+ * Writes only record an {@link EnrichmentTask} next to the adventure. A scheduled
+ * poller claims due tasks, the geocode runs asynchronously, and the result plus the
+ * owner's place reference counts are applied in a short transaction on the enrichment pool.
+ * Failures are retried with exponential backoff until {@code enrichment.max-attempts}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdventureEnrichmentServiceImpl implements AdventureEnrichmentService {
+
+    private final EnrichmentTaskRepository taskRepository;
+    private final AdventureRepository adventureRepository;
+    private final DashboardService dashboardService;
+    private final MapUtils mapUtils;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor enrichmentExecutor;
+
+    @Value("${enrichment.batch-size:20}")
+    private int batchSize;
+
+    @Value("${enrichment.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${enrichment.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${enrichment.backoff-ms:5000}")
+    private long backoffMs;
+
+    @Value("${enrichment.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Override
+    public void enqueue(Adventure adventure) {
+        taskRepository.upsertPending(adventure.getId(), LocalDateTime.now());
+    }
+
+    @Override
+    public EnrichmentStatusDTO getStatus(Long adventureId, String email) throws ResourceNotFoundException {
+        Adventure adventure = adventureRepository.findById(adventureId)
+                .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
+
+        if (!adventure.getUser().getEmail().equals(email)) {
+            throw new AccessDeniedException("Unauthorized");
+        }
+
+        EnrichmentTask task = taskRepository.findByAdventureId(adventureId).orElse(null);
+        return EnrichmentStatusDTO.builder()
+                .adventureId(adventureId)
+                .geoStatus(adventure.getGeoStatus())
+                .location(adventure.getLocation())
+                .taskStatus(task != null ? task.getStatus() : null)
+                .attempts(task != null ? task.getAttempts() : 0)
+                .nextAttemptAt(task != null ? task.getNextAttemptAt() : null)
+                .lastError(task != null ? task.getLastError() : null)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void enqueueUnresolved() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = taskRepository.findAdventureIdsWithoutTask();
+            if (ids.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            taskRepository.saveAll(ids.stream()
+                    .map(id -> EnrichmentTask.builder()
+                            .adventureId(id)
+                            .status(TaskStatus.PENDING)
+                            .nextAttemptAt(now)
+                            .build())
+                    .toList());
+            adventureRepository.markGeoStatus(ids, GeoStatus.PENDING);
+            System.out.println("Queued location enrichment for " + ids.size() + " existing adventures");
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${enrichment.poll-interval-ms:1000}")
+    public void poll() {
+        int limit = Math.min(batchSize, enrichmentExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        if (limit <= 0) {
+            return;
+        }
+
+        List<EnrichmentTask> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = taskRepository.lockDueTaskIds(now, limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            taskRepository.claim(ids, TaskStatus.IN_PROGRESS, UUID.randomUUID().toString(),
+                    now.plusNanos(leaseMs * 1_000_000), now);
+            return taskRepository.findAllById(ids);
+        });
+
+        if (claimed != null) {
+            claimed.forEach(this::process);
+        }
+    }
+
+    private void process(EnrichmentTask task) {
+        Adventure adventure = adventureRepository.findById(task.getAdventureId()).orElse(null);
+        if (adventure == null) {
+            transactionTemplate.executeWithoutResult(status ->
+                    taskRepository.deleteById(task.getId()));
+            return;
+        }
+
+        double latitude = adventure.getLatitude();
+        double longitude = adventure.getLongitude();
+        mapUtils.lookupAsync(latitude, longitude)
+                .handleAsync((geo, error) -> {
+                    try {
+                        if (error != null) {
+                            fail(task, error);
+                        } else {
+                            apply(task, latitude, longitude, geo);
+                        }
+                    } catch (RuntimeException e) {
+                        fail(task, e);
+                    }
+                    return null;
+                }, enrichmentExecutor);
+    }
+
+    private void apply(EnrichmentTask task, double latitude, double longitude, Map<String, String> geo) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // The row lock orders this against deletes; moved adventures are left to their newer task.
+            Adventure adventure = adventureRepository.lockById(task.getAdventureId()).orElse(null);
+            LocalDateTime now = LocalDateTime.now();
+            // Only the current claim applies its result; a stale worker must not count places twice.
+            if (taskRepository.transition(task.getId(), task.getClaimToken(),
+                    TaskStatus.IN_PROGRESS, TaskStatus.DONE, now, null, now) == 0) {
+                return;
+            }
+            if (adventure != null && adventure.getLatitude() == latitude && adventure.getLongitude() == longitude) {
+                adventureRepository.applyGeocode(adventure.getId(), latitude, longitude,
+                        geo.get("city"), geo.get("region"), geo.get("country"), MapUtils.locationOf(geo), GeoStatus.RESOLVED);
+                dashboardService.placesChanged(adventure.getUser().getId(),
+                        adventure.getCity(), adventure.getRegion(), adventure.getCountry(),
+                        geo.get("city"), geo.get("region"), geo.get("country"));
+            }
+        });
+    }
+
+    private void fail(EnrichmentTask task, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        String lastError = message;
+        LocalDateTime now = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (task.getAttempts() >= maxAttempts) {
+                if (taskRepository.transition(task.getId(), task.getClaimToken(),
+                        TaskStatus.IN_PROGRESS, TaskStatus.FAILED, now, lastError, now) == 0) {
+                    return;
+                }
+                adventureRepository.markGeoFailed(task.getAdventureId(), "Unknown", GeoStatus.FAILED, GeoStatus.PENDING);
+            } else {
+                long delay = Math.min(maxBackoffMs, backoffMs << Math.min(20, task.getAttempts() - 1));
+                taskRepository.transition(task.getId(), task.getClaimToken(), TaskStatus.IN_PROGRESS, TaskStatus.PENDING,
+                        now.plusNanos(delay * 1_000_000), lastError, now);
+            }
+        });
+        System.err.println("Enrichment of adventure " + task.getAdventureId() + " failed (attempt "
+                + task.getAttempts() + "): " + lastError);
+    }
+
+    @Override
+    public void discard(Long adventureId) {
+        taskRepository.deleteByAdventureId(adventureId);
+    }
+}
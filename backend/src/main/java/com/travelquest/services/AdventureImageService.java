@@ -1,13 +1,15 @@
 package com.travelquest.services;
 
-import com.travelquest.entity.Adventure;
 import com.travelquest.entity.AdventureImage;
+import com.travelquest.services.CloudinaryService.UploadedImage;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
 public interface AdventureImageService {
-    void uploadImages(List<MultipartFile> images, Long userId, Adventure adventure);
-    void deleteImageFromCloud(String url);
+    List<UploadedImage> uploadImages(List<MultipartFile> images, Long userId, Long adventureId);
+    void saveImages(Long adventureId, List<UploadedImage> images);
+    void deleteImagesFromCloud(List<AdventureImage> images);
+    void discardUploads(List<UploadedImage> uploads);
     void deleteAllImages(List<AdventureImage> images);
 }
@@ -1,45 +1,133 @@
 package com.travelquest.services;
 
-import com.travelquest.entity.Adventure;
 import com.travelquest.entity.AdventureImage;
 import com.travelquest.repositories.AdventureImageRepository;
+import com.travelquest.services.CloudinaryService.UploadedImage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AdventureImageServiceImpl implements AdventureImageService {
 
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
     private final CloudinaryService cloudinaryService;
     private final AdventureImageRepository adventureImageRepository;
+    private final ThreadPoolTaskExecutor imageUploadExecutor;
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageAssetService imageAssetService;
 
+    /**
+     * Uploads all images, with their renditions, concurrently on the bounded upload pool
+     * and returns them in input order. Images whose content the user already stored reuse that
+     * asset instead of being uploaded again. If any upload fails, the ones that succeeded are
+     * released again and the failure is rethrown.
+     */
     @Override
-    public void uploadImages(List<MultipartFile> images, Long userId, Adventure adventure) {
+    public List<UploadedImage> uploadImages(List<MultipartFile> images, Long userId, Long adventureId) {
         if (images == null || images.isEmpty()) {
-            return; // No images to upload
+            return List.of(); // No images to upload
+        }
+        List<CompletableFuture<UploadedImage>> uploads = images.stream()
+                .map(image -> CompletableFuture.supplyAsync(() -> upload(image, userId, adventureId), imageUploadExecutor))
+                .collect(Collectors.toList());
+
+        try {
+            // allOf only completes once every upload has, so nothing lands after the cleanup.
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            discardUploads(uploads.stream()
+                    .filter(upload -> !upload.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList()));
+            throw new RuntimeException("Image upload failed", e.getCause());
         }
-        for (MultipartFile image : images) {
-            try {
-                String url = cloudinaryService.uploadImage(image, userId.toString(), adventure.getId().toString());
-                AdventureImage img = AdventureImage.builder()
-                        .url(url)
-                        .adventure(adventure)
-                        .build();
-                adventureImageRepository.save(img);
-                adventure.getImages().add(img);
-            } catch (IOException e) {
-                throw new RuntimeException("Image upload failed", e);
+        return uploads.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private UploadedImage upload(MultipartFile image, Long userId, Long adventureId) {
+        try {
+            String sha256 = sha256(image);
+            Optional<UploadedImage> existing = imageAssetService.acquire(userId, sha256);
+            if (existing.isPresent()) {
+                return existing.get();
             }
+            return imageAssetService.register(userId, sha256,
+                    cloudinaryService.uploadAdventureImage(image, userId.toString(), adventureId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Hashes the part while streaming it from Tomcat's spool file, so the upload is never
+     * held in memory; the part can still be read again for the upload afterwards.
+     */
+    private static String sha256(MultipartFile image) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = image.getInputStream()) {
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Inserts the image rows as one JDBC batch.
+     */
+    @Override
+    @Transactional
+    public void saveImages(Long adventureId, List<UploadedImage> images) {
+        if (images.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO adventure_images "
+                        + "(adventure_id, public_id, url, thumbnail_url, card_url, full_url) VALUES (?, ?, ?, ?, ?, ?)",
+                images.stream()
+                        .map(image -> new Object[]{adventureId, image.publicId(), image.url(),
+                                image.thumbnailUrl(), image.cardUrl(), image.fullUrl()})
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Releases the images' assets; those no longer referenced are deleted in the background.
+     */
+    @Override
+    public void deleteImagesFromCloud(List<AdventureImage> images) {
+        imageAssetService.release(images.stream()
+                .map(image -> image.getPublicId() != null
+                        ? image.getPublicId()
+                        : cloudinaryService.extractPublicId(image.getUrl()))
+                .collect(Collectors.toList()));
+    }
+
     @Override
-    public void deleteImageFromCloud(String url) {
-        cloudinaryService.deleteImage(url);
+    public void discardUploads(List<UploadedImage> uploads) {
+        imageAssetService.release(uploads.stream().map(UploadedImage::publicId).collect(Collectors.toList()));
     }
 
     @Override
@@ -3,6 +3,11 @@ package com.travelquest.services;
 import java.util.List;
 
 import com.travelquest.dto.AdventurePublicDTO;
+import com.travelquest.dto.ClusterDTO;
+import com.travelquest.dto.CursorPageDTO;
+import com.travelquest.dto.HeatCellDTO;
+import com.travelquest.dto.LikeStatusDTO;
+import com.travelquest.dto.SearchHitDTO;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.travelquest.dto.AdventureDTO;
@@ -19,8 +24,17 @@ public interface AdventureService {
 	List<AdventureDTO> getAdventuresSorted(String email, String sortBy, String order, int page, int size, String search) throws ResourceNotFoundException;
     List<AdventureDTO> getAdventuresByCollectionId(Long id,String email);
 	List<AdventurePublicDTO> getPublicAdventures();
-	AdventurePublicDTO getPublicAdventure(Long id);
+	List<AdventurePublicDTO> getPublicAdventuresByTags(List<String> tags, boolean matchAll);
+	CursorPageDTO<AdventurePublicDTO> getPublicFeed(String cursor, int size);
+	List<AdventurePublicDTO> getHotFeed(int page, int size);
+	List<AdventurePublicDTO> getNearbyAdventures(double latitude, double longitude, double radiusKm, int limit);
+	List<AdventurePublicDTO> getAdventuresInBox(String bbox, int limit);
+	List<ClusterDTO> getClusters(String bbox, int zoom);
+	List<HeatCellDTO> getHeatmap(String bbox, int precision);
+	CursorPageDTO<SearchHitDTO<AdventurePublicDTO>> searchPublicAdventures(String query, String cursor, int size);
+	CursorPageDTO<SearchHitDTO<AdventureDTO>> searchMyAdventures(String email, String query, String cursor, int size) throws ResourceNotFoundException;
+	AdventurePublicDTO getPublicAdventure(Long id) throws ResourceNotFoundException;
     Long getLikesCount(Long id);
-    void unlikeAdventure(Long id, String name) throws ResourceNotFoundException;
-    void likeAdventure(Long id, String name) throws ResourceNotFoundException;
+    LikeStatusDTO unlikeAdventure(Long id, String name) throws ResourceNotFoundException;
+    LikeStatusDTO likeAdventure(Long id, String name) throws ResourceNotFoundException;
 }
@@ -2,91 +2,143 @@ package com.travelquest.services;
 
 import com.travelquest.dto.AdventureDTO;
 import com.travelquest.dto.AdventurePublicDTO;
+import com.travelquest.dto.ClusterDTO;
+import com.travelquest.dto.CursorPageDTO;
+import com.travelquest.dto.HeatCellDTO;
+import com.travelquest.dto.LikeStatusDTO;
+import com.travelquest.dto.SearchHitDTO;
 import com.travelquest.entity.Adventure;
 import com.travelquest.entity.AdventureImage;
-import com.travelquest.entity.AdventureLike;
 import com.travelquest.entity.User;
+import com.travelquest.enums.ChangeType;
+import com.travelquest.enums.GeoStatus;
+import com.travelquest.enums.ImageRendition;
+import com.travelquest.events.AdventureChangedEvent;
+import com.travelquest.events.AdventureLikedEvent;
 import com.travelquest.exceptions.ResourceNotFoundException;
+import com.travelquest.projections.AdventureRow;
+import com.travelquest.repositories.AdventureImageRepository;
 import com.travelquest.repositories.AdventureLikeRepository;
 import com.travelquest.repositories.AdventureRepository;
 import com.travelquest.repositories.UserRepository;
-import com.travelquest.utils.map.MapUtils;
-import jakarta.transaction.Transactional;
+import com.travelquest.services.CloudinaryService.UploadedImage;
+import com.travelquest.utils.map.BoundingBox;
+import com.travelquest.utils.pagination.FeedCursor;
+import com.travelquest.utils.pagination.SearchCursor;
+import com.travelquest.utils.search.SearchQuery;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AdventureServiceImpl implements AdventureService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+    private static final int MAX_MAP_RESULTS = 500;
+    private static final double MAX_RADIUS_KM = 20_000;
+
     private final AdventureRepository adventureRepository;
     private final AdventureImageService adventureImageService;
+    private final AdventureImageRepository adventureImageRepository;
     private final AdventureLikeRepository adventureLikeRepo;
     private final UserRepository userRepository;
     private final DashboardService dashboardService;
-    private final MapUtils mapUtils;
+    private final AdventureEnrichmentService adventureEnrichmentService;
+    private final LikeCountBuffer likeCountBuffer;
+    private final HotFeedIndex hotFeedIndex;
+    private final MapClusterIndex mapClusterIndex;
+    private final HeatmapIndex heatmapIndex;
+    private final TagService tagService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public AdventureDTO createAdventure(String email, AdventureDTO dto, List<MultipartFile> images) throws ResourceNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Map<String, String> geoData = mapUtils.reverseGeocode(dto.getLatitude(), dto.getLongitude());
-        String resolvedLocation = geoData.getOrDefault("region", "Unknown");
-        
-        Adventure adventure = Adventure.builder()
-                .name(dto.getName())
-                .location(resolvedLocation)
-                .tags(dto.getTags())
-                .description(dto.getDescription())
-                .link(dto.getLink())
-                .publicVisibility(dto.isPublicVisibility())
-                .rating(dto.getRating())
-                .latitude(dto.getLatitude())
-                .longitude(dto.getLongitude())
-                .user(user)
-                .build();
+        // The row commits first: uploads need its id for the folder and run without a connection.
+        Adventure savedAdventure = transactionTemplate.execute(status -> {
+            Adventure adventure = Adventure.builder()
+                    .name(dto.getName())
+                    .geoStatus(GeoStatus.PENDING)
+                    .tags(dto.getTags())
+                    .description(dto.getDescription())
+                    .link(dto.getLink())
+                    .publicVisibility(dto.isPublicVisibility())
+                    .rating(dto.getRating())
+                    .latitude(dto.getLatitude())
+                    .longitude(dto.getLongitude())
+                    .user(user)
+                    .build();
+
+            Adventure saved = adventureRepository.save(adventure);
+            adventureEnrichmentService.enqueue(saved);
+            dashboardService.adventureAdded(user.getId());
+            eventPublisher.publishEvent(AdventureChangedEvent.of(ChangeType.CREATED, saved));
+            return saved;
+        });
 
-        Adventure savedAdventure = adventureRepository.save(adventure);
-
-        adventureImageService.uploadImages(images, user.getId(), savedAdventure);
-        dashboardService.updateUserStats(user);
-        return toDTO(savedAdventure);
+        try {
+            attachImages(images, user.getId(), savedAdventure.getId());
+        } catch (RuntimeException e) {
+            // All or nothing: an adventure whose images failed is removed again.
+            transactionTemplate.executeWithoutResult(status ->
+                    adventureRepository.lockById(savedAdventure.getId()).ifPresent(this::remove));
+            throw e;
+        }
+        return dtoOf(savedAdventure.getId());
     }
 
     @Override
-    @Transactional
     public AdventureDTO updateAdventure(Long id, AdventureDTO dto, List<MultipartFile> newImages,String email) throws ResourceNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User owner = ownerOf(id, email);
+        List<UploadedImage> uploaded = adventureImageService.uploadImages(newImages, owner.getId(), id);
 
-        Adventure adventure = adventureRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
-
-        if (!adventure.getUser().getEmail().equals(email)) {
-            throw new AccessDeniedException("Unauthorized");
+        Adventure updated;
+        try {
+            updated = transactionTemplate.execute(status -> adventureRepository.findById(id)
+                    .map(adventure -> applyUpdate(adventure, dto, uploaded))
+                    .orElse(null));
+        } catch (RuntimeException e) {
+            adventureImageService.discardUploads(uploaded);
+            throw e;
         }
+        if (updated == null) {
+            adventureImageService.discardUploads(uploaded);
+            throw new ResourceNotFoundException("Adventure not found");
+        }
+        return dtoOf(id);
+    }
+
+    private Adventure applyUpdate(Adventure adventure, AdventureDTO dto, List<UploadedImage> newImages) {
+        boolean moved = adventure.getLatitude() != dto.getLatitude() || adventure.getLongitude() != dto.getLongitude();
 
-        Map<String, String> geoData = mapUtils.reverseGeocode(dto.getLatitude(), dto.getLongitude());
-        String resolvedLocation = geoData.getOrDefault("region", "Unknown");
-        
         adventure.setName(dto.getName());
-        adventure.setLocation(resolvedLocation);
         adventure.setTags(dto.getTags());
         adventure.setDescription(dto.getDescription());
         adventure.setPublicVisibility(dto.isPublicVisibility());
@@ -96,51 +148,73 @@ public class AdventureServiceImpl implements AdventureService {
         adventure.setLatitude(dto.getLatitude());
         adventure.setLongitude(dto.getLongitude());
 
-        if (newImages != null && !newImages.isEmpty()) {
-            adventureImageService.uploadImages(newImages, adventure.getUser().getId(), adventure);
+        adventureImageService.saveImages(adventure.getId(), newImages);
+
+        if (moved || adventure.getGeoStatus() != GeoStatus.RESOLVED) {
+            adventure.setGeoStatus(GeoStatus.PENDING);
+            adventureEnrichmentService.enqueue(adventure);
         }
 
         Adventure updated = adventureRepository.save(adventure);
-        dashboardService.updateUserStats(user);
-        return toDTO(updated);
+        eventPublisher.publishEvent(AdventureChangedEvent.of(ChangeType.UPDATED, updated));
+        return updated;
     }
 
     @Override
     @Transactional
     public void deleteAdventure(Long adventureId, String email) throws ResourceNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Adventure adventure = adventureRepository.findById(adventureId)
+        Adventure adventure = adventureRepository.lockById(adventureId)
                 .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
 
         if (!adventure.getUser().getEmail().equals(email)) {
             throw new AccessDeniedException("Unauthorized");
         }
 
+        remove(adventure);
+    }
+
+    private void remove(Adventure adventure) {
         List<AdventureImage> images = adventure.getImages();
         if (images != null && !images.isEmpty()) {
-            for (AdventureImage image : images) {
-                adventureImageService.deleteImageFromCloud(image.getUrl());
-            }
+            adventureImageService.deleteImagesFromCloud(images);
             adventureImageService.deleteAllImages(images);
         }
 
+        adventureEnrichmentService.discard(adventure.getId());
         adventureRepository.delete(adventure);
-        dashboardService.updateUserStats(user);
+        dashboardService.adventureRemoved(adventure.getUser().getId(),
+                adventure.getCity(), adventure.getRegion(), adventure.getCountry());
+        eventPublisher.publishEvent(AdventureChangedEvent.of(ChangeType.DELETED, adventure));
     }
 
     @Override
-    @Transactional
     public void addImages(Long adventureId, List<MultipartFile> images, String email) throws ResourceNotFoundException {
-        Adventure adventure = adventureRepository.findById(adventureId)
+        User owner = ownerOf(adventureId, email);
+        attachImages(images, owner.getId(), adventureId);
+    }
+
+    /**
+     * Uploads outside any transaction, then inserts all image rows in one batch; the
+     * uploaded assets are deleted again if the insert fails.
+     */
+    private void attachImages(List<MultipartFile> images, Long userId, Long adventureId) {
+        List<UploadedImage> uploaded = adventureImageService.uploadImages(images, userId, adventureId);
+        try {
+            adventureImageService.saveImages(adventureId, uploaded);
+        } catch (RuntimeException e) {
+            adventureImageService.discardUploads(uploaded);
+            throw e;
+        }
+    }
+
+    private User ownerOf(Long adventureId, String email) throws ResourceNotFoundException {
+        User owner = adventureRepository.findUserById(adventureId)
                 .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
 
-        if (!adventure.getUser().getEmail().equals(email)) {
+        if (!owner.getEmail().equals(email)) {
             throw new AccessDeniedException("Unauthorized");
         }
-
-        adventureImageService.uploadImages(images, adventure.getUser().getId(), adventure);
+        return owner;
     }
 
     @Override
@@ -157,9 +231,9 @@ public class AdventureServiceImpl implements AdventureService {
         if (images != null && !images.isEmpty()) {
             for (Iterator<AdventureImage> iterator = images.iterator(); iterator.hasNext(); ) {
                 AdventureImage image = iterator.next();
-                if (image.getUrl().equals(imageUrl)) {
+                if (image.hasUrl(imageUrl)) {
                     System.out.println("Found image to delete");
-                    adventureImageService.deleteImageFromCloud(image.getUrl());
+                    adventureImageService.deleteImagesFromCloud(List.of(image));
                     iterator.remove(); // THIS is key - removes from list
                     break;
                 }
@@ -170,25 +244,20 @@ public class AdventureServiceImpl implements AdventureService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<AdventureDTO> getAdventuresByUser(String email, boolean unassignedOnly) throws ResourceNotFoundException {
-    	User user = userRepository.findByEmail(email)
+    	Long userId = userRepository.findIdByEmail(email)
     			.orElseThrow(() -> new ResourceNotFoundException("User not found"));
     	if(unassignedOnly) {
-            return adventureRepository.findByUserAndCollectionIsNull(user).stream()
-                    .map(this::toDTO)
-                    .collect(Collectors.toList());
+            return rowsToDTOs(adventureRepository.findUnassignedRowsByUserId(userId));
     	}
-        return adventureRepository.findByUser(user).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return rowsToDTOs(adventureRepository.findRowsByUserId(userId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AdventureDTO> getAdventuresByCollectionId(Long id, String email) {
-        return adventureRepository.findAllByCollectionIdAndCollectionUserEmail(id, email)
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return rowsToDTOs(adventureRepository.findRowsByCollection(id, email));
     }
 
     @Override
@@ -204,31 +273,133 @@ public class AdventureServiceImpl implements AdventureService {
     }
 
     private AdventureDTO toDTO(Adventure adventure) {
-        long likesCount = adventureLikeRepo.countByAdventureId(adventure.getId());
+        return toDTOs(List.of(adventure), ImageRendition.FULL).get(0);
+    }
+
+    /**
+     * Reads an adventure back as the owner sees it, straight from the database.
+     */
+    private AdventureDTO dtoOf(Long id) {
+        return rowsToDTOs(adventureRepository.findRowsByIdIn(List.of(id)), ImageRendition.FULL).get(0);
+    }
+
+    private AdventurePublicDTO toPublicDTO(Adventure adventure) {
+        return toPublicDTOs(List.of(adventure), ImageRendition.FULL).get(0);
+    }
+
+    /**
+     * Converts a page of adventures with a fixed number of queries: the current user's
+     * likes are resolved in one bulk query, images, tags and authors are batch-fetched
+     * by Hibernate.
+     */
+    private List<AdventureDTO> toDTOs(List<Adventure> adventures) {
+        return toDTOs(adventures, ImageRendition.THUMBNAIL);
+    }
+
+    private List<AdventureDTO> toDTOs(List<Adventure> adventures, ImageRendition rendition) {
+        LikeLookup likes = lookupLikes(adventures);
+        return adventures.stream()
+                .map(adventure -> toDTO(adventure, likes, rendition))
+                .collect(Collectors.toList());
+    }
+
+    private List<AdventurePublicDTO> toPublicDTOs(List<Adventure> adventures) {
+        return toPublicDTOs(adventures, ImageRendition.THUMBNAIL);
+    }
+
+    private List<AdventurePublicDTO> toPublicDTOs(List<Adventure> adventures, ImageRendition rendition) {
+        LikeLookup likes = lookupLikes(adventures);
+        return adventures.stream()
+                .map(adventure -> toPublicDTO(adventure, likes, rendition))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts projected rows without touching the persistence context: images, tags
+     * and the current user's likes take one bulk query each.
+     */
+    private List<AdventureDTO> rowsToDTOs(List<AdventureRow> rows) {
+        return rowsToDTOs(rows, ImageRendition.THUMBNAIL);
+    }
+
+    private List<AdventureDTO> rowsToDTOs(List<AdventureRow> rows, ImageRendition rendition) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = rows.stream().map(AdventureRow::id).collect(Collectors.toList());
+        Map<Long, List<String>> imageUrls = adventureImageRepository.findUrlsByAdventureIdIn(ids).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0], Collectors.mapping(
+                        row -> rendition.pick((String) row[1], (String) row[2], (String) row[3], (String) row[4]),
+                        Collectors.toList())));
+        Map<Long, List<String>> tags = groupById(adventureRepository.findTagsByIdIn(ids));
+        LikeLookup likes = lookupLikes(ids);
+
+        return rows.stream()
+                .map(row -> AdventureDTO.builder()
+                        .id(row.id())
+                        .name(row.name())
+                        .location(row.location())
+                        .geoStatus(row.geoStatus())
+                        .latitude(row.latitude())
+                        .longitude(row.longitude())
+                        .collectionId(row.collectionId())
+                        .itineraryDay(row.itineraryDay())
+                        .tags(tags.getOrDefault(row.id(), new ArrayList<>()))
+                        .publicVisibility(row.publicVisibility())
+                        .rating(row.rating())
+                        .description(row.description())
+                        .link(row.link())
+                        .imageUrls(imageUrls.getOrDefault(row.id(), new ArrayList<>()))
+                        .createdAt(row.createdAt())
+                        .updatedAt(row.updatedAt())
+                        .likedByCurrentUser(likes.liked().contains(row.id()))
+                        .likesCount(row.likesCount() + likeCountBuffer.pendingDelta(row.id()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static Map<Long, List<String>> groupById(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.groupingBy(row -> (Long) row[0],
+                Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+    }
+
+    private LikeLookup lookupLikes(List<Adventure> adventures) {
+        return lookupLikes(adventures.stream().map(Adventure::getId).collect(Collectors.toList()));
+    }
+
+    private LikeLookup lookupLikes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new LikeLookup(Set.of());
+        }
 
-        boolean likedByCurrentUser = false;
+        Set<Long> liked = currentUserId()
+                .map(userId -> adventureLikeRepo.findLikedAdventureIds(userId, ids))
+                .orElse(Set.of());
+        return new LikeLookup(liked);
+    }
+
+    private Optional<Long> currentUserId() {
         try {
             String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            if (currentEmail != null) {
-                User currentUser = userRepository.findByEmail(currentEmail).orElse(null);
-                if (currentUser != null) {
-                    likedByCurrentUser = adventureLikeRepo.existsByAdventureIdAndUserId(adventure.getId(), currentUser.getId());
-                }
-            }
+            return currentEmail != null ? userRepository.findIdByEmail(currentEmail) : Optional.empty();
         } catch (Exception e) {
-            likedByCurrentUser = false;
+            return Optional.empty();
         }
+    }
 
+    private AdventureDTO toDTO(Adventure adventure, LikeLookup likes, ImageRendition rendition) {
         return AdventureDTO.builder()
                 .id(adventure.getId())
                 .name(adventure.getName())
                 .location(adventure.getLocation())
+                .geoStatus(adventure.getGeoStatus())
                 .latitude(adventure.getLatitude())
                 .longitude(adventure.getLongitude())
                 .collectionId(
                         adventure.getCollection() != null
                                 ? adventure.getCollection().getId()
                                 : null)
+                .itineraryDay(adventure.getItineraryDay())
                 .tags(adventure.getTags())
                 .publicVisibility(adventure.isPublicVisibility())
                 .rating(adventure.getRating())
@@ -237,32 +408,17 @@ public class AdventureServiceImpl implements AdventureService {
                 .imageUrls(
                         Objects.requireNonNullElse(adventure.getImages(), List.<AdventureImage>of())
                                 .stream()
-                                .map(AdventureImage::getUrl)
+                                .map(image -> image.urlFor(rendition))
                                 .collect(Collectors.toList())
                 )
                 .createdAt(adventure.getCreatedAt())
                 .updatedAt(adventure.getUpdatedAt())
-                .likedByCurrentUser(likedByCurrentUser)
-                .likesCount(likesCount)
+                .likedByCurrentUser(likes.liked().contains(adventure.getId()))
+                .likesCount(adventure.getLikesCount() + likeCountBuffer.pendingDelta(adventure.getId()))
                 .build();
     }
 
-    private AdventurePublicDTO toPublicDTO(Adventure adventure) {
-        long likesCount = adventureLikeRepo.countByAdventureId(adventure.getId());
-
-        boolean likedByCurrentUser = false;
-        try {
-            String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            if (currentEmail != null) {
-                User currentUser = userRepository.findByEmail(currentEmail).orElse(null);
-                if (currentUser != null) {
-                    likedByCurrentUser = adventureLikeRepo.existsByAdventureIdAndUserId(adventure.getId(), currentUser.getId());
-                }
-            }
-        } catch (Exception e) {
-            likedByCurrentUser = false;
-        }
-
+    private AdventurePublicDTO toPublicDTO(Adventure adventure, LikeLookup likes, ImageRendition rendition) {
         return AdventurePublicDTO.builder()
                 .id(adventure.getId())
                 .name(adventure.getName())
@@ -276,84 +432,277 @@ public class AdventureServiceImpl implements AdventureService {
                 .imageUrls(
                         Objects.requireNonNullElse(adventure.getImages(), List.<AdventureImage>of())
                                 .stream()
-                                .map(AdventureImage::getUrl)
+                                .map(image -> image.urlFor(rendition))
                                 .collect(Collectors.toList())
                 )
                 .createdAt(adventure.getCreatedAt())
                 .updatedAt(adventure.getUpdatedAt())
                 .author(adventure.getUser().getName())
-                .likedByCurrentUser(likedByCurrentUser)
-                .likesCount(likesCount)
+                .likedByCurrentUser(likes.liked().contains(adventure.getId()))
+                .likesCount(adventure.getLikesCount() + likeCountBuffer.pendingDelta(adventure.getId()))
                 .build();
     }
 
+    private record LikeLookup(Set<Long> liked) {}
+
     @Override
+    @Transactional(readOnly = true)
 	public List<AdventureDTO> getAdventuresSorted(String email, String sortBy, String order, int page, int size, String search) throws ResourceNotFoundException {
-		User user = userRepository.findByEmail(email)
+		Long userId = userRepository.findIdByEmail(email)
 				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
 		String sortField = switch (sortBy.toLowerCase()) {
-			case "name", "rating", "createdat", "updatedat" -> sortBy;
+			case "name", "rating" -> sortBy.toLowerCase();
+			case "createdat" -> "createdAt";
+			case "updatedat" -> "updatedAt";
+			case "likes", "likescount" -> "likesCount";
 			default -> "createdAt";
 		};
 
 		Sort.Direction direction = "asc".equalsIgnoreCase(order) ? Sort.Direction.ASC : Sort.Direction.DESC;
 		Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-        Page<Adventure> result;
 
-        if (search != null && !search.trim().isEmpty()) {
-            result = adventureRepository.findByUserAndNameContainingIgnoreCase(user, search, pageable);
-        } else {
-            result = adventureRepository.findByUser(user, pageable);
+        String query = SearchQuery.toPrefixQuery(search);
+        if (query != null) {
+            Sort byColumn = Sort.by(direction, switch (sortField) {
+                case "createdAt" -> "created_at";
+                case "updatedAt" -> "updated_at";
+                case "likesCount" -> "likes_count";
+                default -> sortField;
+            });
+            List<Long> ids = adventureRepository.findIdsByUserMatching(userId, query, PageRequest.of(page, size, byColumn))
+                    .getContent();
+            Map<Long, AdventureRow> byId = adventureRepository.findRowsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(AdventureRow::id, row -> row));
+            return rowsToDTOs(ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList()));
+        } else if (search != null && !search.trim().isEmpty()) {
+            return List.of();
         }
-		return result
-				.stream()
-				.map(this::toDTO)
-				.collect(Collectors.toList());
+		return rowsToDTOs(adventureRepository.findRowsByUserId(userId, pageable).getContent());
 	}
 
 	@Override
 	public List<AdventurePublicDTO> getPublicAdventures() {
-	    List<Adventure> adventures = adventureRepository.findByPublicVisibility(true);
-		return adventures.stream().map(this::toPublicDTO).collect(Collectors.toList());
+		// Legacy unpaged feed: capped at the newest page instead of every public adventure.
+		return getPublicFeed(null, MAX_FEED_PAGE_SIZE).getItems();
 	}
 
 	@Override
-	public AdventurePublicDTO getPublicAdventure(Long id) {
-		Adventure adventure = adventureRepository.findByPublicVisibilityAndId(true,id);
-		return toPublicDTO(adventure);
+	public List<AdventurePublicDTO> getPublicAdventuresByTags(List<String> tags, boolean matchAll) {
+		List<Long> ids = tagService.findAdventureIds(tags, matchAll, MAX_MAP_RESULTS);
+		return ids.isEmpty() ? List.of() : toPublicDTOs(findPublicInOrder(ids));
 	}
 
-    @Transactional
-    public void likeAdventure(Long adventureId, String email) throws ResourceNotFoundException {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+	/**
+	 * Loads public adventures by id in one query, keeping the order of {@code ids}.
+	 */
+	private List<Adventure> findPublicInOrder(List<Long> ids) {
+		Map<Long, Adventure> byId = adventureRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Adventure::getId, adventure -> adventure));
+		return ids.stream()
+				.map(byId::get)
+				.filter(adventure -> adventure != null && adventure.isPublicVisibility())
+				.collect(Collectors.toList());
+	}
 
-        Adventure adventure = adventureRepository.findById(adventureId).orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
+	@Override
+	public CursorPageDTO<AdventurePublicDTO> getPublicFeed(String cursor, int size) {
+		int limit = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+		Pageable pageable = PageRequest.of(0, limit + 1);
+
+		List<Adventure> rows;
+		if (cursor == null || cursor.isBlank()) {
+			rows = adventureRepository.findPublicFeed(pageable);
+		} else {
+			FeedCursor after = FeedCursor.decode(cursor);
+			rows = adventureRepository.findPublicFeedBefore(after.createdAt(), after.id(), pageable);
+		}
+
+		String nextCursor = null;
+		if (rows.size() > limit) {
+			rows = rows.subList(0, limit);
+			Adventure last = rows.get(limit - 1);
+			nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+		return new CursorPageDTO<>(toPublicDTOs(rows), nextCursor);
+	}
 
-        boolean alreadyLiked = adventureLikeRepo.existsByAdventureIdAndUserId(adventureId, user.getId());
-        if (alreadyLiked) {
-            throw new IllegalStateException("User already liked this adventure");
-        }
+	@Override
+	public List<AdventurePublicDTO> getHotFeed(int page, int size) {
+		int limit = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+		List<Long> ids = hotFeedIndex.top(Math.max(0, page) * limit, limit);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		// Ranking comes from memory; the page itself is one primary-key lookup.
+		return toPublicDTOs(findPublicInOrder(ids));
+	}
 
-        AdventureLike like = new AdventureLike();
-        like.setAdventure(adventure);
-        like.setUser(user);
-        adventureLikeRepo.save(like);
-    }
+	@Override
+	public List<AdventurePublicDTO> getNearbyAdventures(double latitude, double longitude, double radiusKm, int limit) {
+		if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+			throw new IllegalArgumentException("Coordinates are out of range");
+		}
+		if (radiusKm <= 0) {
+			throw new IllegalArgumentException("Radius must be positive");
+		}
+		List<Object[]> rows = adventureRepository.findPublicNearby(latitude, longitude,
+				Math.min(radiusKm, MAX_RADIUS_KM) * 1000, Math.max(1, Math.min(limit, MAX_MAP_RESULTS)));
+		if (rows.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Long, Double> distances = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			distances.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue() / 1000);
+		}
+		Map<Long, Adventure> byId = adventureRepository.findAllById(distances.keySet()).stream()
+				.collect(Collectors.toMap(Adventure::getId, adventure -> adventure));
+		List<Adventure> ordered = distances.keySet().stream()
+				.map(byId::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+
+		List<AdventurePublicDTO> dtos = toPublicDTOs(ordered);
+		dtos.forEach(dto -> dto.setDistanceKm(distances.get(dto.getId())));
+		return dtos;
+	}
+
+	@Override
+	public List<AdventurePublicDTO> getAdventuresInBox(String bbox, int limit) {
+		BoundingBox box = BoundingBox.parse(bbox);
+		int max = Math.max(1, Math.min(limit, MAX_MAP_RESULTS));
+
+		List<Adventure> rows = new ArrayList<>();
+		for (BoundingBox part : box.split()) {
+			rows.addAll(adventureRepository.findPublicInBox(part.minLon(), part.minLat(), part.maxLon(), part.maxLat(), max));
+		}
+		if (box.crossesAntimeridian()) {
+			rows.sort(Comparator.comparingLong(Adventure::getLikesCount).reversed()
+					.thenComparing(Comparator.comparing(Adventure::getId).reversed()));
+			rows = rows.subList(0, Math.min(rows.size(), max));
+		}
+		return toPublicDTOs(rows);
+	}
 
+	@Override
+	public List<ClusterDTO> getClusters(String bbox, int zoom) {
+		return mapClusterIndex.clusters(BoundingBox.parse(bbox), zoom);
+	}
+
+	@Override
+	public List<HeatCellDTO> getHeatmap(String bbox, int precision) {
+		return heatmapIndex.cells(BoundingBox.parse(bbox), precision);
+	}
+
+	@Override
+	public CursorPageDTO<SearchHitDTO<AdventurePublicDTO>> searchPublicAdventures(String search, String cursor, int size) {
+		String query = SearchQuery.toPrefixQuery(search);
+		if (query == null) {
+			return new CursorPageDTO<>(List.of(), null);
+		}
+		int limit = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+		SearchCursor after = SearchCursor.decode(cursor);
+		return searchPage(adventureRepository.searchPublic(query, after.rank(), after.id(), limit + 1), limit,
+				this::toPublicDTOs);
+	}
+
+	@Override
+	public CursorPageDTO<SearchHitDTO<AdventureDTO>> searchMyAdventures(String email, String search, String cursor, int size) throws ResourceNotFoundException {
+		Long userId = userRepository.findIdByEmail(email)
+				.orElseThrow(() -> new ResourceNotFoundException("User not found"));
+		String query = SearchQuery.toPrefixQuery(search);
+		if (query == null) {
+			return new CursorPageDTO<>(List.of(), null);
+		}
+		int limit = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+		SearchCursor after = SearchCursor.decode(cursor);
+		return searchPage(adventureRepository.searchByUser(userId, query, after.rank(), after.id(), limit + 1), limit,
+				this::toDTOs);
+	}
+
+	/**
+	 * Turns {@code (id, rank, nameHighlight, descriptionHighlight)} rows, fetched with
+	 * one extra row to detect a next page, into ranked hits.
+	 */
+	private <T> CursorPageDTO<SearchHitDTO<T>> searchPage(List<Object[]> rows, int limit,
+														  Function<List<Adventure>, List<T>> mapper) {
+		String nextCursor = null;
+		if (rows.size() > limit) {
+			rows = rows.subList(0, limit);
+			Object[] last = rows.get(limit - 1);
+			nextCursor = new SearchCursor(((Number) last[1]).floatValue(), ((Number) last[0]).longValue()).encode();
+		}
+
+		Map<Long, Adventure> byId = adventureRepository.findAllById(
+						rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList()))
+				.stream()
+				.collect(Collectors.toMap(Adventure::getId, adventure -> adventure));
+		List<Object[]> found = rows.stream()
+				.filter(row -> byId.containsKey(((Number) row[0]).longValue()))
+				.collect(Collectors.toList());
+		List<T> items = mapper.apply(found.stream()
+				.map(row -> byId.get(((Number) row[0]).longValue()))
+				.collect(Collectors.toList()));
+
+		List<SearchHitDTO<T>> hits = new ArrayList<>(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			Object[] row = found.get(i);
+			hits.add(new SearchHitDTO<>(items.get(i), ((Number) row[1]).floatValue(), (String) row[2], (String) row[3]));
+		}
+		return new CursorPageDTO<>(hits, nextCursor);
+	}
+
+	@Override
+	public AdventurePublicDTO getPublicAdventure(Long id) throws ResourceNotFoundException {
+		Adventure adventure = adventureRepository.findByPublicVisibilityAndId(true, id)
+				.orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
+		return toPublicDTO(adventure);
+	}
+
+    @Override
     @Transactional
-    public void unlikeAdventure(Long adventureId, String email) throws ResourceNotFoundException {
-        User user = userRepository.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public LikeStatusDTO likeAdventure(Long adventureId, String email) throws ResourceNotFoundException {
+        Long userId = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        LocalDateTime likedAt = LocalDateTime.now();
+        boolean changed = adventureLikeRepo.insertIfAbsent(adventureId, userId, likedAt) > 0;
+        if (changed) {
+            likeCountBuffer.recordAfterCommit(adventureId, 1);
+            eventPublisher.publishEvent(new AdventureLikedEvent(adventureId, userId,
+                    likedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), true));
+        }
+        return likeStatus(adventureId, true, changed ? 1 : 0);
+    }
 
-        if (!adventureLikeRepo.existsByAdventureIdAndUserId(adventureId, user.getId())) {
-            throw new IllegalStateException("User has not liked this adventure");
+    @Override
+    @Transactional
+    public LikeStatusDTO unlikeAdventure(Long adventureId, String email) throws ResourceNotFoundException {
+        Long userId = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        List<Long> removed = adventureLikeRepo.deleteReturningCreatedAt(adventureId, userId);
+        boolean changed = !removed.isEmpty();
+        if (changed) {
+            likeCountBuffer.recordAfterCommit(adventureId, -1);
+            eventPublisher.publishEvent(new AdventureLikedEvent(adventureId, userId, removed.get(0), false));
         }
+        return likeStatus(adventureId, false, changed ? -1 : 0);
+    }
 
-        adventureLikeRepo.deleteByAdventureIdAndUserId(adventureId, user.getId());
+    private LikeStatusDTO likeStatus(Long adventureId, boolean liked, long uncommittedDelta) throws ResourceNotFoundException {
+        long stored = adventureRepository.findLikesCountById(adventureId)
+                .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
+        return LikeStatusDTO.builder()
+                .adventureId(adventureId)
+                .liked(liked)
+                .likesCount(stored + likeCountBuffer.pendingDelta(adventureId) + uncommittedDelta)
+                .build();
     }
 
+    @Override
     public Long getLikesCount(Long adventureId) {
-        return adventureLikeRepo.countByAdventureId(adventureId);
+        return adventureRepository.findLikesCountById(adventureId).orElse(0L) + likeCountBuffer.pendingDelta(adventureId);
     }
 
 }
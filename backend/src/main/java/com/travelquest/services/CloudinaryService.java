@@ -1,19 +1,37 @@
 package com.travelquest.services;
 
 import com.cloudinary.Cloudinary;
+import com.cloudinary.EagerTransformation;
 import com.cloudinary.utils.ObjectUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class CloudinaryService {
 
+    /**
+     * Adventure photo renditions in {@link UploadedImage} order. Cloudinary decodes the
+     * original once at upload time and derives each of these from it, re-encoded as WebP.
+     */
+    private static final List<EagerTransformation> RENDITIONS = List.of(
+            new EagerTransformation().width(320).height(240).crop("fill").gravity("auto").quality("auto").format("webp"),
+            new EagerTransformation().width(800).height(600).crop("fill").gravity("auto").quality("auto").format("webp"),
+            new EagerTransformation().width(2048).height(2048).crop("limit").quality("auto").format("webp")
+    );
+
+    /**
+     * Most public ids the Admin API deletes in one call.
+     */
+    public static final int MAX_BULK_DELETE = 100;
+
     private final Cloudinary cloudinary;
 
     public String uploadImage(MultipartFile file, String userId, String adventureId) throws IOException {
@@ -21,8 +39,42 @@ public class CloudinaryService {
                 "folder", String.format("travelquest/%s/%s", userId, adventureId)
         );
 
-        Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
-        return uploadResult.get("secure_url").toString();
+        return upload(file, options).get("secure_url").toString();
+    }
+
+    /**
+     * Uploads an adventure photo and generates its renditions in the same call.
+     */
+    public UploadedImage uploadAdventureImage(MultipartFile file, String userId, String adventureId) throws IOException {
+        Map<String, Object> options = ObjectUtils.asMap(
+                "folder", String.format("travelquest/%s/%s", userId, adventureId),
+                "eager", RENDITIONS
+        );
+
+        Map<?, ?> uploadResult = upload(file, options);
+        List<?> eager = (List<?>) uploadResult.get("eager");
+        return new UploadedImage(uploadResult.get("public_id").toString(), uploadResult.get("secure_url").toString(),
+                renditionUrl(eager, 0), renditionUrl(eager, 1), renditionUrl(eager, 2));
+    }
+
+    private static String renditionUrl(List<?> eager, int index) {
+        if (eager == null || eager.size() <= index) {
+            return null;
+        }
+        Object url = ((Map<?, ?>) eager.get(index)).get("secure_url");
+        return url != null ? url.toString() : null;
+    }
+
+    private Map<?, ?> upload(MultipartFile file, Map<String, Object> options) throws IOException {
+        // Upload from a file so the SDK streams it with a fixed buffer instead of a byte[] copy.
+        // Tomcat moves its spooled part into place rather than copying it.
+        File staged = Files.createTempFile("upload-", ".part").toFile();
+        try {
+            file.transferTo(staged);
+            return cloudinary.uploader().upload(staged, options);
+        } finally {
+            Files.deleteIfExists(staged.toPath());
+        }
     }
 
     public void deleteImage(String url) {
@@ -47,7 +99,30 @@ public class CloudinaryService {
         }
     }
 
-    private String extractPublicId(String url) {
+    /**
+     * Deletes up to {@link #MAX_BULK_DELETE} assets, with their derived renditions, in
+     * one Admin API call and returns each public id's outcome ({@code deleted},
+     * {@code not_found}, ...).
+     */
+    public Map<String, String> deleteResources(List<String> publicIds) throws Exception {
+        Map<?, ?> deleted = (Map<?, ?>) cloudinary.api().deleteResources(publicIds, ObjectUtils.asMap(
+                "invalidate", true,
+                "resource_type", "image"
+        )).get("deleted");
+
+        Map<String, String> outcomes = new HashMap<>();
+        if (deleted != null) {
+            deleted.forEach((publicId, outcome) -> outcomes.put(publicId.toString(), String.valueOf(outcome)));
+        }
+        return outcomes;
+    }
+
+    public record UploadedImage(String publicId, String url, String thumbnailUrl, String cardUrl, String fullUrl) {}
+
+    /**
+     * Recovers the public id from a delivery URL, for images stored before public ids were.
+     */
+    public String extractPublicId(String url) {
         try {
             String path = new URL(url).getPath();
             String[] segments = path.split("/");
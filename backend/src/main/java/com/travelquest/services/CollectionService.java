@@ -8,6 +8,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.travelquest.dto.CollectionDTO;
+import com.travelquest.dto.ItineraryEntryDTO;
+import com.travelquest.dto.ItineraryMoveDTO;
 import com.travelquest.exceptions.ResourceNotFoundException;
 
 public interface CollectionService {
@@ -18,5 +20,9 @@ public interface CollectionService {
     void removeAdventureFromCollection(Long collectionId, Long adventureId, String email) throws AccessDeniedException, ResourceNotFoundException;
     void deleteCollection(Long collectionId, String email) throws AccessDeniedException, ResourceNotFoundException;
     void addAdventureToCollection(Long collectionId, Long adventureId, String email) throws AccessDeniedException, ResourceNotFoundException;
+    CollectionDTO addAdventuresToCollection(Long collectionId, List<Long> adventureIds, String email) throws AccessDeniedException, ResourceNotFoundException;
+    CollectionDTO removeAdventuresFromCollection(Long collectionId, List<Long> adventureIds, String email) throws AccessDeniedException, ResourceNotFoundException;
+    void moveAdventure(Long collectionId, Long adventureId, ItineraryMoveDTO move, String email) throws AccessDeniedException, ResourceNotFoundException;
+    void reorderItinerary(Long collectionId, List<ItineraryEntryDTO> entries, String email) throws AccessDeniedException, ResourceNotFoundException;
     List<CollectionDTO> getCollectionsByUserPaginated(String email, int page, int size, String name) throws ResourceNotFoundException;
 }
@@ -1,35 +1,49 @@
 package com.travelquest.services;
 
 import com.travelquest.dto.CollectionDTO;
-import com.travelquest.entity.Adventure;
+import com.travelquest.dto.ItineraryEntryDTO;
+import com.travelquest.dto.ItineraryMoveDTO;
 import com.travelquest.entity.Collection;
 import com.travelquest.entity.User;
 import com.travelquest.exceptions.ResourceNotFoundException;
+import com.travelquest.projections.CollectionSummary;
 import com.travelquest.repositories.AdventureRepository;
 import com.travelquest.repositories.CollectionRepository;
 import com.travelquest.repositories.UserRepository;
-import jakarta.transaction.Transactional;
+import com.travelquest.utils.search.SearchQuery;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CollectionServiceImpl implements CollectionService {
 
+    private static final int MAX_BULK_SIZE = 500;
+
     private final CollectionRepository collectionRepository;
     private final UserRepository userRepository;
     private final AdventureRepository adventureRepository;
     private final CloudinaryService cloudinaryService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
@@ -37,13 +51,13 @@ public class CollectionServiceImpl implements CollectionService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        List<Adventure> adventures = adventureRepository.findAllById(dto.getExistingAdventureIds());
-        
-        for (Long adventureId : dto.getExistingAdventureIds()) {
-            Adventure adventure = adventureRepository.findById(adventureId)
-                .orElseThrow(() -> new ResourceNotFoundException("Adventure not found: " + adventureId));
-            if (adventure.getCollection() != null) {
-                throw new ResourceNotFoundException("Adventure already belongs to a collection: " + adventureId);
+        List<Long> adventureIds = distinctIds(dto.getExistingAdventureIds());
+        if (!adventureIds.isEmpty()) {
+            Set<Long> assignable = new HashSet<>(adventureRepository.findAssignableIds(adventureIds, user.getId()));
+            for (Long adventureId : adventureIds) {
+                if (!assignable.contains(adventureId)) {
+                    throw new ResourceNotFoundException("Adventure not found or already in a collection: " + adventureId);
+                }
             }
         }
         String url = "/adventure_place.webp";
@@ -58,13 +72,14 @@ public class CollectionServiceImpl implements CollectionService {
                 .coverImage(url)
                 .durationInDays(dto.getDurationInDays())
                 .user(user)
-                .adventures(adventures)
                 .build();
 
-        adventures.forEach(adventure -> adventure.setCollection(collection));
-
         Collection saved = collectionRepository.save(collection);
-        return toDTO(saved);
+        if (!adventureIds.isEmpty()) {
+            adventureRepository.assignToCollection(saved.getId(), adventureIds, user.getId(),
+                    ItineraryRebalancer.GAP, LocalDateTime.now());
+        }
+        return summaryOf(saved.getId());
     }
 
     @Override
@@ -89,20 +104,12 @@ public class CollectionServiceImpl implements CollectionService {
         	url = cloudinaryService.uploadImage(image, user.getId().toString(), user.getId().toString());
         }
         
-        List<Long> advIds = new ArrayList<>();
-        for(Adventure adv: collection.getAdventures()) {
-        	advIds.add(adv.getId());
-        }
         collection.setName(dto.getName());
         collection.setDescription(dto.getDescription());
         collection.setCoverImage(url);
         collection.setDurationInDays(dto.getDurationInDays());
-        List<Adventure> adventures = adventureRepository.findAllById(advIds);
-        adventures.forEach(a -> a.setCollection(collection));
-        collection.getAdventures().clear();
-        collection.getAdventures().addAll(adventures);
 
-        return toDTO(collectionRepository.save(collection));
+        return summaryOf(collectionRepository.save(collection).getId());
     }
 
     @Transactional
@@ -115,23 +122,18 @@ public class CollectionServiceImpl implements CollectionService {
             throw new AccessDeniedException("Unauthorized");
         }
 
-        // Nullify collection reference in each adventure
-        for (Adventure adventure : collection.getAdventures()) {
-            adventure.setCollection(null);
-            adventureRepository.save(adventure);
-        }
-
+        adventureRepository.detachCollection(collectionId);
         collectionRepository.delete(collection);
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<CollectionDTO> getCollectionsByUser(String email) throws ResourceNotFoundException {
-        User user = userRepository.findByEmail(email)
+        Long userId = userRepository.findIdByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        return collectionRepository.findAll().stream()
-                .filter(c -> c.getUser().getId().equals(user.getId()))
+        return collectionRepository.findSummariesByUserId(userId).stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
@@ -145,86 +147,247 @@ public class CollectionServiceImpl implements CollectionService {
             throw new AccessDeniedException("Unauthorized");
         }
 
-        return toDTO(collection);
+        return summaryOf(collection.getId());
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CollectionDTO> getCollectionsByUserPaginated(String email, int page, int size, String name) throws ResourceNotFoundException {
-        User user = userRepository.findByEmail(email)
+        Long userId = userRepository.findIdByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Collection> pageResult;
-
-        if (name != null && !name.trim().isEmpty()) {
-            pageResult = collectionRepository.findByUserAndNameContainingIgnoreCase(user, name, pageable);
+        List<CollectionSummary> summaries;
+
+        String query = SearchQuery.toPrefixQuery(name);
+        if (query != null) {
+            summaries = collectionRepository.searchSummariesByUser(userId, query,
+                    pageable.getPageSize(), pageable.getOffset());
+        } else if (name != null && !name.trim().isEmpty()) {
+            return List.of();
         } else {
-            pageResult = collectionRepository.findByUser(user, pageable);
+            summaries = collectionRepository.findSummariesByUserId(userId, pageable.getPageSize(), pageable.getOffset());
         }
 
-        return pageResult.stream().map(this::toDTO).collect(Collectors.toList());
+        return summaries.stream().map(this::toDTO).collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public void removeAdventureFromCollection(Long collectionId, Long adventureId, String email) throws AccessDeniedException, ResourceNotFoundException {
-        Collection collection = collectionRepository.findById(collectionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Collection not found"));
+        removeAdventuresFromCollection(collectionId, List.of(adventureId), email);
+    }
 
-        if (!collection.getUser().getEmail().equals(email)) {
-            throw new AccessDeniedException("Unauthorized");
+    /**
+     * One ownership-checked UPDATE; the collection and the adventures are only looked up
+     * to explain a mismatch, and the exception then rolls back any partial move.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CollectionDTO addAdventuresToCollection(Long collectionId, List<Long> adventureIds, String email) throws AccessDeniedException, ResourceNotFoundException {
+        Long userId = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        List<Long> ids = bulkIds(adventureIds);
+
+        // Same rule as createCollection: only unassigned adventures (or current members) move.
+        int moved = adventureRepository.assignToCollection(collectionId, ids, userId, ItineraryRebalancer.GAP,
+                LocalDateTime.now());
+        if (moved != ids.size()) {
+            checkOwner(collectionId, userId);
+            requireAll(ids, adventureRepository.findAssignableIds(ids, userId, collectionId),
+                    "Adventures not found or already in another collection: ");
+            throw new IllegalArgumentException("Adventures changed while being moved; please retry");
         }
+        return summaryOf(collectionId);
+    }
 
-        Adventure adventure = adventureRepository.findById(adventureId)
-                .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
-
-        if (collection.getAdventures().contains(adventure)) {
-            collection.getAdventures().remove(adventure);
-            adventure.setCollection(null);
-            adventureRepository.save(adventure);
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CollectionDTO removeAdventuresFromCollection(Long collectionId, List<Long> adventureIds, String email) throws AccessDeniedException, ResourceNotFoundException {
+        Long userId = userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        List<Long> ids = bulkIds(adventureIds);
+
+        int removed = adventureRepository.removeFromCollection(collectionId, ids, userId, LocalDateTime.now());
+        if (removed != ids.size()) {
+            checkOwner(collectionId, userId);
+            requireAll(ids, adventureRepository.findItinerarySlots(collectionId, ids).stream()
+                            .map(slot -> (Long) slot[0])
+                            .collect(Collectors.toList()),
+                    "Adventures not found in collection: ");
+            throw new IllegalArgumentException("Adventures changed while being moved; please retry");
         }
-
-        collectionRepository.save(collection);
-    }
-  
-    private CollectionDTO toDTO(Collection collection) {
-        return CollectionDTO.builder()
-                .id(collection.getId())
-                .name(collection.getName())
-                .description(collection.getDescription())
-                .coverImage(collection.getCoverImage())
-                .durationInDays(collection.getDurationInDays())
-                .adventureCount(collection.getAdventures().size())
-                .existingAdventureIds(
-                        collection.getAdventures().stream()
-                                .map(Adventure::getId)
-                                .collect(Collectors.toList())
-                )
-                .build();
+        return summaryOf(collectionId);
     }
 
+    @Override
     @Transactional
+    public void moveAdventure(Long collectionId, Long adventureId, ItineraryMoveDTO move, String email) throws AccessDeniedException, ResourceNotFoundException {
+        Collection collection = ownedCollection(collectionId, email);
+        Integer day = checkDay(collection, move.getDay());
+        long position = positionBetween(collectionId, day, move.getPreviousId(), move.getNextId());
+
+        if (adventureRepository.moveInItinerary(collectionId, adventureId, day, position) == 0) {
+            throw new ResourceNotFoundException("Adventure not found in collection");
+        }
+    }
+
     @Override
-    public void addAdventureToCollection(Long collectionId, Long adventureId, String email) throws AccessDeniedException, ResourceNotFoundException {
+    @Transactional
+    public void reorderItinerary(Long collectionId, List<ItineraryEntryDTO> entries, String email) throws AccessDeniedException, ResourceNotFoundException {
+        Collection collection = ownedCollection(collectionId, email);
+        List<Long> ids = bulkIds(entries.stream().map(ItineraryEntryDTO::getAdventureId).collect(Collectors.toList()));
+        if (ids.size() != entries.size()) {
+            throw new IllegalArgumentException("Each adventure may only appear once");
+        }
+        if (adventureRepository.findItinerarySlots(collectionId, ids).size() != ids.size()) {
+            throw new IllegalArgumentException("All adventures must belong to the collection");
+        }
+        // Keys restart per day, so a member left out would interleave with the new ones.
+        if (adventureRepository.countByCollectionId(collectionId) != ids.size()) {
+            throw new IllegalArgumentException("The itinerary must list every adventure in the collection");
+        }
+
+        Map<Integer, Long> nextPosition = new HashMap<>();
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (ItineraryEntryDTO entry : entries) {
+            Integer day = checkDay(collection, entry.getDay());
+            long position = nextPosition.merge(day, ItineraryRebalancer.GAP, Long::sum);
+            args.add(new Object[]{day, position, entry.getAdventureId(), collectionId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE adventures SET itinerary_day = ?, itinerary_position = ? "
+                + "WHERE id = ? AND collection_id = ?", args);
+    }
+
+    private Collection ownedCollection(Long collectionId, String email) throws AccessDeniedException, ResourceNotFoundException {
         Collection collection = collectionRepository.findById(collectionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Collection not found"));
-
         if (!collection.getUser().getEmail().equals(email)) {
             throw new AccessDeniedException("Unauthorized");
         }
+        return collection;
+    }
 
-        Adventure adventure = adventureRepository.findById(adventureId)
-                .orElseThrow(() -> new ResourceNotFoundException("Adventure not found"));
+    private static Integer checkDay(Collection collection, Integer day) {
+        if (day != null && (day < 1 || day > Math.max(1, collection.getDurationInDays()))) {
+            throw new IllegalArgumentException("Day must be between 1 and " + Math.max(1, collection.getDurationInDays()));
+        }
+        return day;
+    }
 
-        if (!adventure.getUser().getEmail().equals(email) && adventure.getCollection()==null) {
+    /**
+     * Picks a key strictly between the neighbours' keys. When they are adjacent, or a
+     * neighbour has no key yet, the collection is renumbered once and the keys re-read.
+     */
+    private long positionBetween(Long collectionId, Integer day, Long previousId, Long nextId) {
+        List<Long> ids = Stream.of(previousId, nextId).filter(Objects::nonNull).collect(Collectors.toList());
+        boolean rebalanced = false;
+        while (true) {
+            Map<Long, Object[]> slots = new HashMap<>();
+            if (!ids.isEmpty()) {
+                for (Object[] slot : adventureRepository.findItinerarySlots(collectionId, ids)) {
+                    slots.put((Long) slot[0], slot);
+                }
+            }
+            Long previous = neighbourKey(slots, previousId, day);
+            Long next = neighbourKey(slots, nextId, day);
+
+            boolean keyed = (previousId == null || previous != null) && (nextId == null || next != null);
+            if (keyed) {
+                if (previous == null && next == null) {
+                    return ItineraryRebalancer.GAP;
+                }
+                if (previous == null) {
+                    return next - ItineraryRebalancer.GAP;
+                }
+                if (next == null) {
+                    return previous + ItineraryRebalancer.GAP;
+                }
+                if (next - previous > 1) {
+                    return previous + (next - previous) / 2;
+                }
+            }
+            if (rebalanced) {
+                throw new IllegalArgumentException("Previous and next adventures are not neighbours");
+            }
+            adventureRepository.rebalanceItinerary(collectionId, ItineraryRebalancer.GAP);
+            rebalanced = true;
+        }
+    }
+
+    private static Long neighbourKey(Map<Long, Object[]> slots, Long adventureId, Integer day) {
+        if (adventureId == null) {
+            return null;
+        }
+        Object[] slot = slots.get(adventureId);
+        if (slot == null || !Objects.equals(slot[1], day)) {
+            throw new IllegalArgumentException("Adventure " + adventureId + " is not on that day of the collection");
+        }
+        return (Long) slot[2];
+    }
+
+    /**
+     * Resolves why a bulk update did not match every row; only runs on that path, so a
+     * successful update stays a single statement.
+     */
+    private void checkOwner(Long collectionId, Long userId) throws AccessDeniedException, ResourceNotFoundException {
+        Long ownerId = collectionRepository.findUserIdById(collectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Collection not found"));
+        if (!ownerId.equals(userId)) {
             throw new AccessDeniedException("Unauthorized");
         }
+    }
 
-        if (!collection.getAdventures().contains(adventure)) {
-            collection.getAdventures().add(adventure);
-            adventure.setCollection(collection);
-            adventureRepository.save(adventure);
-            collectionRepository.save(collection);
+    /**
+     * Rejects the whole request, naming the ids that cannot be moved.
+     */
+    private static void requireAll(List<Long> ids, List<Long> found, String message) throws ResourceNotFoundException {
+        Set<Long> present = new HashSet<>(found);
+        List<Long> missing = ids.stream().filter(id -> !present.contains(id)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(message + missing);
         }
     }
+
+    private static List<Long> bulkIds(List<Long> adventureIds) {
+        List<Long> ids = distinctIds(adventureIds);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("No adventure ids given");
+        }
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " adventures can be moved at once");
+        }
+        return ids;
+    }
+
+    private static List<Long> distinctIds(List<Long> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    }
+
+    private CollectionDTO summaryOf(Long collectionId) throws ResourceNotFoundException {
+        return collectionRepository.findSummaryById(collectionId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Collection not found"));
+    }
+
+    private CollectionDTO toDTO(CollectionSummary summary) {
+        return CollectionDTO.builder()
+                .id(summary.getId())
+                .name(summary.getName())
+                .description(summary.getDescription())
+                .coverImage(summary.getCoverImage())
+                .durationInDays(summary.getDurationInDays())
+                .adventureCount((int) summary.getAdventureCount())
+                .existingAdventureIds(new ArrayList<>(Arrays.asList(summary.getAdventureIds())))
+                .build();
+    }
+
+    @Transactional
+    @Override
+    public void addAdventureToCollection(Long collectionId, Long adventureId, String email) throws AccessDeniedException, ResourceNotFoundException {
+        addAdventuresToCollection(collectionId, List.of(adventureId), email);
+    }
 }
@@ -6,5 +6,10 @@ import com.travelquest.exceptions.ResourceNotFoundException;
 
 public interface DashboardService {
     DashboardStatsDTO getAdventureStats(String email) throws ResourceNotFoundException;
-    void updateUserStats(User user);
+    void adventureAdded(Long userId);
+    void adventureRemoved(Long userId, String city, String region, String country);
+    void placesChanged(Long userId, String oldCity, String oldRegion, String oldCountry,
+                       String newCity, String newRegion, String newCountry);
+    void rebuildUserStats(User user);
+    DashboardStatsDTO rebuildUserStats(String email) throws ResourceNotFoundException;
 }
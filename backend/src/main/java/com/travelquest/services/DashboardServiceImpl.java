@@ -1,67 +1,157 @@
 package com.travelquest.services;
 
 import com.travelquest.dto.DashboardStatsDTO;
-import com.travelquest.entity.Adventure;
 import com.travelquest.entity.DashboardStats;
 import com.travelquest.entity.User;
+import com.travelquest.enums.PlaceKind;
 import com.travelquest.exceptions.ResourceNotFoundException;
 import com.travelquest.repositories.AdventureRepository;
+import com.travelquest.repositories.UserPlaceCountRepository;
 import com.travelquest.repositories.UserRepository;
-import com.travelquest.utils.map.MapUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 
+/**
+ * Keeps {@link DashboardStats} up to date incrementally. Distinct city/region/country
+ * totals are backed by reference counts in {@code user_place_counts}: a total only
+ * moves when a place gets its first adventure or loses its last one.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
     private final AdventureRepository adventureRepository;
     private final UserRepository userRepository;
-    private final MapUtils mapUtils;
+    private final UserPlaceCountRepository placeCountRepository;
+    private final TransactionTemplate transactionTemplate;
 
+    @Override
     @Transactional
-    public void updateUserStats(User user) {
-        List<Adventure> adventures = adventureRepository.findByUser(user);
-
-        Set<String> cities = new HashSet<>();
-        Set<String> regions = new HashSet<>();
-        Set<String> countries = new HashSet<>();
+    public void adventureAdded(Long userId) {
+        userRepository.adjustDashboardStats(userId, 1, 0, 0, 0);
+    }
 
-        for (Adventure adv : adventures) {
-            Map<String, String> geo = mapUtils.reverseGeocode(adv.getLatitude(), adv.getLongitude());
+    @Override
+    @Transactional
+    public void adventureRemoved(Long userId, String city, String region, String country) {
+        userRepository.adjustDashboardStats(userId, -1,
+                -release(userId, PlaceKind.CITY, city),
+                -release(userId, PlaceKind.REGION, region),
+                -release(userId, PlaceKind.COUNTRY, country));
+    }
 
-            if (geo.get("city") != null) cities.add(geo.get("city"));
-            if (geo.get("region") != null) regions.add(geo.get("region"));
-            if (geo.get("country") != null) countries.add(geo.get("country"));
+    @Override
+    @Transactional
+    public void placesChanged(Long userId, String oldCity, String oldRegion, String oldCountry,
+                              String newCity, String newRegion, String newCountry) {
+        int cities = swap(userId, PlaceKind.CITY, oldCity, newCity);
+        int regions = swap(userId, PlaceKind.REGION, oldRegion, newRegion);
+        int countries = swap(userId, PlaceKind.COUNTRY, oldCountry, newCountry);
+        if (cities != 0 || regions != 0 || countries != 0) {
+            userRepository.adjustDashboardStats(userId, 0, cities, regions, countries);
         }
+    }
+
+    /**
+     * Repair job: recomputes reference counts and totals from the adventures table.
+     */
+    @Override
+    @Transactional
+    public void rebuildUserStats(User user) {
+        placeCountRepository.deleteByUserId(user.getId());
+        placeCountRepository.rebuildForUser(user.getId());
 
         DashboardStats stats = DashboardStats.builder()
-                .totalAdventures(adventures.size())
-                .totalCities(cities.size())
-                .totalRegions(regions.size())
-                .totalCountries(countries.size())
+                .totalAdventures((int) adventureRepository.countByUser(user))
+                .totalCities((int) placeCountRepository.countByUserIdAndKind(user.getId(), PlaceKind.CITY))
+                .totalRegions((int) placeCountRepository.countByUserIdAndKind(user.getId(), PlaceKind.REGION))
+                .totalCountries((int) placeCountRepository.countByUserIdAndKind(user.getId(), PlaceKind.COUNTRY))
                 .build();
 
         user.setDashboardStats(stats);
         userRepository.save(user);
     }
 
+    @Override
+    @Transactional
+    public DashboardStatsDTO rebuildUserStats(String email) throws ResourceNotFoundException {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        rebuildUserStats(user);
+        return toDTO(user.getDashboardStats());
+    }
+
+    /**
+     * Seeds the reference counts of users whose totals still come from the full
+     * recomputation, which also zeroes totals counted from places that are not yet
+     * resolved. Runs before the enrichment backfill, whose resolved places then count
+     * from a consistent start instead of on top of the old totals.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedPlaceCounts() {
+        for (Long userId : userRepository.findIdsWithUnseededPlaceCounts()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.findById(userId).ifPresent(this::rebuildUserStats));
+        }
+    }
+
     @Override
     public DashboardStatsDTO getAdventureStats(String email) throws ResourceNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        return toDTO(user.getDashboardStats());
+    }
+
+    private int swap(Long userId, PlaceKind kind, String oldName, String newName) {
+        if (Objects.equals(oldName, newName)) {
+            return 0;
+        }
+        return acquire(userId, kind, newName) - release(userId, kind, oldName);
+    }
+
+    /**
+     * Adds one reference; returns 1 if this created the place.
+     */
+    private int acquire(Long userId, PlaceKind kind, String name) {
+        if (name == null) {
+            return 0;
+        }
+        while (true) {
+            if (placeCountRepository.increment(userId, kind, name) > 0) {
+                return 0;
+            }
+            if (placeCountRepository.insertFirst(userId, kind.name(), name) > 0) {
+                return 1;
+            }
+        }
+    }
+
+    /**
+     * Drops one reference; returns 1 if this removed the place.
+     */
+    private int release(Long userId, PlaceKind kind, String name) {
+        if (name == null || placeCountRepository.decrement(userId, kind, name) > 0) {
+            return 0;
+        }
+        return placeCountRepository.deleteLast(userId, kind, name);
+    }
+
+    private DashboardStatsDTO toDTO(DashboardStats stats) {
         return DashboardStatsDTO.builder()
-                .totalAdventures(user.getDashboardStats().getTotalAdventures())
-                .totalCities(user.getDashboardStats().getTotalCities())
-                .totalRegions(user.getDashboardStats().getTotalRegions())
-                .totalCountries(user.getDashboardStats().getTotalCountries())
+                .totalAdventures(stats.getTotalAdventures())
+                .totalCities(stats.getTotalCities())
+                .totalRegions(stats.getTotalRegions())
+                .totalCountries(stats.getTotalCountries())
                 .build();
     }
 }
@@ -0,0 +1,308 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.HeatCellDTO;
+import com.travelquest.enums.ChangeType;
+import com.travelquest.events.AdventureChangedEvent;
+import com.travelquest.events.AdventureLikedEvent;
+import com.travelquest.repositories.AdventureLikeRepository;
+import com.travelquest.repositories.AdventureRepository;
+import com.travelquest.utils.map.BoundingBox;
+import com.travelquest.utils.map.Geohash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-memory density heatmap of public adventures.
+ * <p>
+ * Adventures are bucketed by geohash at every precision from 1 to
+ * {@code map.heatmap.max-precision}. Each precision keeps its cells in parallel
+ * primitive arrays (count, rating sum, like total) addressed through a cell-id to
+ * slot map, with emptied slots recycled. Writes adjust one cell per precision;
+ * requests only read these arrays. Rebuilds replay concurrent changes through a
+ * {@link RebuildJournal}, so a like is never counted twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class HeatmapIndex {
+
+    private final AdventureRepository adventureRepository;
+    private final AdventureLikeRepository adventureLikeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${map.heatmap.max-precision:6}")
+    private int maxPrecision;
+
+    @Value("${map.heatmap.max-results:2000}")
+    private int maxResults;
+
+    private Grids grids;
+    private RebuildJournal<Grids> journal;
+    private TransactionTemplate snapshotTransaction;
+
+    @PostConstruct
+    public void init() {
+        grids = new Grids(maxPrecision);
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns the non-empty cells at {@code precision} whose area intersects the box,
+     * densest first and at most {@code map.heatmap.max-results} of them.
+     */
+    public synchronized List<HeatCellDTO> cells(BoundingBox box, int precision) {
+        int p = Math.max(1, Math.min(precision, maxPrecision));
+        Grid grid = grids.levels[p];
+
+        List<Integer> hits = new ArrayList<>();
+        for (BoundingBox part : box.split()) {
+            long minX = Geohash.column(part.minLon(), p);
+            long maxX = Geohash.column(part.maxLon(), p);
+            long minY = Geohash.row(part.minLat(), p);
+            long maxY = Geohash.row(part.maxLat(), p);
+
+            if ((maxX - minX + 1) * (maxY - minY + 1) > grid.slots.size()) {
+                for (Map.Entry<Long, Integer> e : grid.slots.entrySet()) {
+                    long x = Geohash.columnOf(e.getKey(), p);
+                    long y = Geohash.rowOf(e.getKey(), p);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        hits.add(e.getValue());
+                    }
+                }
+            } else {
+                for (long y = minY; y <= maxY; y++) {
+                    for (long x = minX; x <= maxX; x++) {
+                        Integer slot = grid.slots.get(Geohash.interleave(x, y, p));
+                        if (slot != null) {
+                            hits.add(slot);
+                        }
+                    }
+                }
+            }
+        }
+
+        return hits.stream()
+                .sorted((a, b) -> Integer.compare(grid.counts[b], grid.counts[a]))
+                .limit(maxResults)
+                .map(slot -> {
+                    long cell = grid.cellIds[slot];
+                    return new HeatCellDTO(Geohash.toBase32(cell, p),
+                            Geohash.centerLatitude(cell, p), Geohash.centerLongitude(cell, p),
+                            grid.counts[slot], grid.ratingSums[slot] / grid.counts[slot], grid.likes[slot]);
+                })
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdventureChanged(AdventureChangedEvent event) {
+        Long id = event.adventureId();
+        if (event.type() == ChangeType.DELETED || !event.publicVisibility()) {
+            apply(g -> g.remove(id));
+            return;
+        }
+        long hash = Geohash.encode(event.latitude(), event.longitude(), maxPrecision);
+        apply(g -> g.put(id, hash, event.rating(), event.likesCount(), true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdventureLiked(AdventureLikedEvent event) {
+        Consumer<Grids> op = g -> g.addLikes(event.adventureId(), event.liked() ? 1 : -1);
+        synchronized (this) {
+            op.accept(grids);
+            if (journal != null) {
+                journal.add(event, op);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${map.heatmap.rebuild-interval-ms:600000}",
+            fixedDelayString = "${map.heatmap.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        RebuildJournal<Grids> changes = new RebuildJournal<>(this);
+        synchronized (this) {
+            journal = changes;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Grids rebuilt = new Grids(maxPrecision);
+            int indexed = snapshotTransaction.execute(status -> {
+                List<Object[]> rows = adventureRepository.findPublicHeatmapRows();
+                for (Object[] row : rows) {
+                    long hash = Geohash.encode((Double) row[1], (Double) row[2], maxPrecision);
+                    rebuilt.put((Long) row[0], hash, (Double) row[3], (Long) row[4], false);
+                }
+
+                while (true) {
+                    changes.loadSnapshot(adventureLikeRepository::findLikesAmong);
+                    synchronized (this) {
+                        if (changes.replayIfLoaded(rebuilt)) {
+                            grids = rebuilt;
+                            return rows.size();
+                        }
+                    }
+                }
+            });
+            System.out.println("Rebuilt heatmap over " + indexed + " adventures in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Heatmap rebuild failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Grids> op) {
+        op.accept(grids);
+        if (journal != null) {
+            journal.add(op);
+        }
+    }
+
+    private record Member(long hash, double rating, long likes) {}
+
+    /**
+     * Indexed adventures plus one grid per precision. Not thread-safe; guarded by the
+     * enclosing index.
+     */
+    private static final class Grids {
+
+        private final int maxPrecision;
+        private final Map<Long, Member> members = new HashMap<>();
+        private final Grid[] levels;
+
+        private Grids(int maxPrecision) {
+            this.maxPrecision = maxPrecision;
+            this.levels = new Grid[maxPrecision + 1];
+            for (int p = 1; p <= maxPrecision; p++) {
+                levels[p] = new Grid();
+            }
+        }
+
+        /**
+         * Adds or moves an adventure. With {@code keepLikes} an already indexed
+         * adventure keeps its event-maintained like total instead of {@code likes}.
+         */
+        void put(long id, long hash, double rating, long likes, boolean keepLikes) {
+            Member previous = members.get(id);
+            if (previous != null) {
+                if (keepLikes) {
+                    likes = previous.likes();
+                }
+                add(previous, -1);
+            }
+            Member member = new Member(hash, rating, likes);
+            members.put(id, member);
+            add(member, 1);
+        }
+
+        void remove(long id) {
+            Member member = members.remove(id);
+            if (member != null) {
+                add(member, -1);
+            }
+        }
+
+        void addLikes(long id, long delta) {
+            Member member = members.get(id);
+            if (member == null) {
+                return;
+            }
+            members.put(id, new Member(member.hash(), member.rating(), member.likes() + delta));
+            for (int p = 1; p <= maxPrecision; p++) {
+                levels[p].add(Geohash.truncate(member.hash(), maxPrecision, p), 0, 0, delta);
+            }
+        }
+
+        private void add(Member member, int sign) {
+            for (int p = 1; p <= maxPrecision; p++) {
+                levels[p].add(Geohash.truncate(member.hash(), maxPrecision, p),
+                        sign, sign * member.rating(), sign * member.likes());
+            }
+        }
+    }
+
+    /**
+     * Cells of one precision as parallel primitive arrays.
+     */
+    private static final class Grid {
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private long[] cellIds = new long[64];
+        private int[] counts = new int[64];
+        private double[] ratingSums = new double[64];
+        private long[] likes = new long[64];
+        private int[] free = new int[16];
+        private int freeCount;
+        private int used;
+
+        void add(long cell, int count, double rating, long likeDelta) {
+            Integer slot = slots.get(cell);
+            if (slot == null) {
+                if (count <= 0) {
+                    return;
+                }
+                slot = allocate(cell);
+            }
+            counts[slot] += count;
+            ratingSums[slot] += rating;
+            likes[slot] += likeDelta;
+            if (counts[slot] <= 0) {
+                release(cell, slot);
+            }
+        }
+
+        private int allocate(long cell) {
+            int slot;
+            if (freeCount > 0) {
+                slot = free[--freeCount];
+            } else {
+                if (used == cellIds.length) {
+                    int capacity = used * 2;
+                    cellIds = Arrays.copyOf(cellIds, capacity);
+                    counts = Arrays.copyOf(counts, capacity);
+                    ratingSums = Arrays.copyOf(ratingSums, capacity);
+                    likes = Arrays.copyOf(likes, capacity);
+                }
+                slot = used++;
+            }
+            cellIds[slot] = cell;
+            slots.put(cell, slot);
+            return slot;
+        }
+
+        private void release(long cell, int slot) {
+            slots.remove(cell);
+            counts[slot] = 0;
+            ratingSums[slot] = 0;
+            likes[slot] = 0;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = slot;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.travelquest.services;
+
+import com.travelquest.enums.ChangeType;
+import com.travelquest.events.AdventureChangedEvent;
+import com.travelquest.events.AdventureLikedEvent;
+import com.travelquest.repositories.AdventureLikeRepository;
+import com.travelquest.repositories.AdventureRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory "hot" ranking of public adventures.
+ * <p>
+ * An adventure's heat is the sum of its likes, each decaying with a half-life of
+ * {@code feed.hot.half-life-hours}, plus its creation counted as
+ * {@code feed.hot.creation-weight} likes. Scores are kept as logarithms relative to
+ * a fixed epoch, so they never need re-decaying: ordering by the stored value is
+ * ordering by current heat. Like/unlike and adventure changes adjust scores after
+ * commit in a sorted set, of which the first {@code feed.hot.capacity} entries are
+ * served. The index is rebuilt from the database at startup and periodically to pick
+ * up writes from other nodes; see {@link RebuildJournal} for changes made meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotFeedIndex {
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::id).reversed());
+
+    private final AdventureRepository adventureRepository;
+    private final AdventureLikeRepository adventureLikeRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${feed.hot.capacity:500}")
+    private int capacity;
+
+    @Value("${feed.hot.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${feed.hot.creation-weight:3}")
+    private double creationWeight;
+
+    @Value("${feed.hot.rebuild-half-lives:30}")
+    private int rebuildHalfLives;
+
+    private Ranking ranking;
+    private RebuildJournal<Ranking> journal;
+    private TransactionTemplate snapshotTransaction;
+
+    @PostConstruct
+    public void init() {
+        ranking = new Ranking();
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns ids of the hottest public adventures, hottest first, within the first
+     * {@code feed.hot.capacity}.
+     */
+    public synchronized List<Long> top(int offset, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        Iterator<Ranked> it = ranking.ordered.iterator();
+        for (int i = 0; it.hasNext() && ids.size() < limit && i < capacity; i++) {
+            Ranked next = it.next();
+            if (i >= offset) {
+                ids.add(next.id());
+            }
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdventureChanged(AdventureChangedEvent event) {
+        Long id = event.adventureId();
+        if (event.type() == ChangeType.DELETED || !event.publicVisibility()) {
+            apply(r -> r.remove(id));
+            return;
+        }
+        if (event.type() == ChangeType.UPDATED && contains(id)) {
+            return;
+        }
+
+        // Newly public: its existing likes are loaded once, later ones arrive as events.
+        double base = baseScore(event.createdAt());
+        double score = base;
+        if (event.type() == ChangeType.UPDATED) {
+            for (LocalDateTime likedAt : adventureLikeRepository.findLikeTimesSince(id, rebuildHorizon())) {
+                score = logAdd(score, decayExponent(likedAt));
+            }
+        }
+        double initial = score;
+        apply(r -> r.put(id, base, initial));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdventureLiked(AdventureLikedEvent event) {
+        double exponent = decayExponent(event.likedAtMillis());
+        Consumer<Ranking> op = r -> r.adjust(event.adventureId(), exponent, event.liked());
+        synchronized (this) {
+            op.accept(ranking);
+            if (journal != null) {
+                journal.add(event, op);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${feed.hot.rebuild-interval-ms:600000}",
+            fixedDelayString = "${feed.hot.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        RebuildJournal<Ranking> changes = new RebuildJournal<>(this);
+        synchronized (this) {
+            journal = changes;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Ranking rebuilt = new Ranking();
+            int indexed = snapshotTransaction.execute(status -> {
+                Map<Long, Double> bases = new HashMap<>();
+                Map<Long, Double> scores = new HashMap<>();
+                for (Object[] row : adventureRepository.findPublicIdsAndCreatedAt()) {
+                    double base = baseScore((LocalDateTime) row[1]);
+                    bases.put((Long) row[0], base);
+                    scores.put((Long) row[0], base);
+                }
+                for (Object[] row : adventureLikeRepository.findPublicLikeTimesSince(rebuildHorizon())) {
+                    scores.computeIfPresent((Long) row[0], (id, score) -> logAdd(score, decayExponent((LocalDateTime) row[1])));
+                }
+                scores.forEach((id, score) -> rebuilt.put(id, bases.get(id), score));
+
+                while (true) {
+                    changes.loadSnapshot(adventureLikeRepository::findLikesAmong);
+                    synchronized (this) {
+                        if (changes.replayIfLoaded(rebuilt)) {
+                            ranking = rebuilt;
+                            return scores.size();
+                        }
+                    }
+                }
+            });
+            System.out.println("Rebuilt hot feed index over " + indexed + " adventures in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Hot feed rebuild failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    private synchronized boolean contains(Long id) {
+        return ranking.scores.containsKey(id);
+    }
+
+    private synchronized void apply(Consumer<Ranking> op) {
+        op.accept(ranking);
+        if (journal != null) {
+            journal.add(op);
+        }
+    }
+
+    private double baseScore(LocalDateTime createdAt) {
+        return Math.log(creationWeight) + decayExponent(createdAt != null ? createdAt : LocalDateTime.now());
+    }
+
+    private double decayExponent(LocalDateTime time) {
+        return decayExponent(time.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    private double decayExponent(long epochMillis) {
+        return epochMillis / (halfLifeHours * 3_600_000) * Math.log(2);
+    }
+
+    private LocalDateTime rebuildHorizon() {
+        return LocalDateTime.now().minusMinutes((long) (halfLifeHours * 60 * rebuildHalfLives));
+    }
+
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    private record Ranked(double score, long id) {}
+
+    private record Entry(double base, double score) {}
+
+    /**
+     * Log-scores of every indexed adventure, also kept sorted. Not thread-safe; guarded
+     * by the enclosing index.
+     */
+    private static final class Ranking {
+
+        private final Map<Long, Entry> scores = new HashMap<>();
+        private final TreeSet<Ranked> ordered = new TreeSet<>(ORDER);
+
+        void put(long id, double base, double score) {
+            remove(id);
+            scores.put(id, new Entry(base, score));
+            ordered.add(new Ranked(score, id));
+        }
+
+        void adjust(long id, double exponent, boolean add) {
+            Entry entry = scores.get(id);
+            if (entry == null) {
+                return;
+            }
+            double score = add
+                    ? logAdd(entry.score(), exponent)
+                    : logSubtract(entry.score(), exponent, entry.base());
+            ordered.remove(new Ranked(entry.score(), id));
+            scores.put(id, new Entry(entry.base(), score));
+            ordered.add(new Ranked(score, id));
+        }
+
+        void remove(long id) {
+            Entry entry = scores.remove(id);
+            if (entry != null) {
+                ordered.remove(new Ranked(entry.score(), id));
+            }
+        }
+
+        private static double logSubtract(double a, double b, double floor) {
+            if (b >= a) {
+                return floor;
+            }
+            double result = a + Math.log1p(-Math.exp(b - a));
+            return Double.isFinite(result) ? Math.max(result, floor) : floor;
+        }
+    }
+}
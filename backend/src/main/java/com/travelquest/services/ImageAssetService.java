@@ -0,0 +1,12 @@
+package com.travelquest.services;
+
+import com.travelquest.services.CloudinaryService.UploadedImage;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageAssetService {
+    Optional<UploadedImage> acquire(Long userId, String sha256);
+    UploadedImage register(Long userId, String sha256, UploadedImage uploaded);
+    void release(List<String> publicIds);
+}
@@ -0,0 +1,107 @@
+package com.travelquest.services;
+
+import com.travelquest.repositories.ImageAssetRepository;
+import com.travelquest.services.CloudinaryService.UploadedImage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Content-addressed index of stored images with reference counts.
+ * <p>
+ * Hashes are scoped to the uploading user: an asset sits in its owner's Cloudinary
+ * folder, so sharing it with another user would leave their images depending on a
+ * folder they do not own, and a hit would reveal that someone else stored the same
+ * bytes.
+ * <p>
+ * Every upload takes one reference, either on an existing asset with the same hash
+ * ({@link #acquire}) or on the one it just stored ({@link #register}); every removed
+ * image row gives one back ({@link #release}). Counts change in single statements, so
+ * a concurrent acquire either lands before the count reaches zero or misses the row
+ * and uploads again.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageAssetServiceImpl implements ImageAssetService {
+
+    private static final String RETURNING = " RETURNING public_id, url, thumbnail_url, card_url, full_url";
+
+    private static final RowMapper<UploadedImage> UPLOADED_IMAGE = (rs, rowNum) -> new UploadedImage(
+            rs.getString("public_id"), rs.getString("url"),
+            rs.getString("thumbnail_url"), rs.getString("card_url"), rs.getString("full_url"));
+
+    private final ImageAssetRepository imageAssetRepository;
+    private final ImageDeletionService imageDeletionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes a reference on the user's asset with this hash, if one is stored.
+     */
+    @Override
+    public Optional<UploadedImage> acquire(Long userId, String sha256) {
+        return jdbcTemplate.query("UPDATE image_assets SET ref_count = ref_count + 1 WHERE user_id = ? AND sha256 = ?"
+                + RETURNING, UPLOADED_IMAGE, userId, sha256).stream().findFirst();
+    }
+
+    /**
+     * Records a fresh upload with one reference. If the same content was registered
+     * concurrently, that asset gains the reference instead and this upload is queued
+     * for deletion.
+     */
+    @Override
+    public UploadedImage register(Long userId, String sha256, UploadedImage uploaded) {
+        UploadedImage stored = jdbcTemplate.queryForObject("INSERT INTO image_assets "
+                        + "(user_id, sha256, public_id, url, thumbnail_url, card_url, full_url, ref_count, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 1, ?) "
+                        + "ON CONFLICT (user_id, sha256) DO UPDATE SET ref_count = image_assets.ref_count + 1" + RETURNING,
+                UPLOADED_IMAGE, userId, sha256, uploaded.publicId(), uploaded.url(),
+                uploaded.thumbnailUrl(), uploaded.cardUrl(), uploaded.fullUrl(), LocalDateTime.now());
+        if (stored != null && !stored.publicId().equals(uploaded.publicId())) {
+            imageDeletionService.enqueue(List.of(uploaded.publicId()));
+        }
+        return stored != null ? stored : uploaded;
+    }
+
+    /**
+     * Gives back one reference per entry and queues assets nobody references any more
+     * for deletion. Public ids the index does not know, from images stored before it
+     * existed, are queued directly.
+     */
+    @Override
+    @Transactional
+    public void release(List<String> publicIds) {
+        Map<String, Long> counts = publicIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()));
+        if (counts.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(counts.keySet());
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE image_assets SET ref_count = ref_count - ? WHERE public_id = ?",
+                ids.stream().map(id -> new Object[]{counts.get(id), id}).collect(Collectors.toList()));
+
+        List<String> orphaned = new ArrayList<>();
+        List<String> tracked = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            (updated[i] == 0 ? orphaned : tracked).add(ids.get(i));
+        }
+        if (!tracked.isEmpty()) {
+            // The updates above hold the row locks, so nothing re-acquires these in between.
+            orphaned.addAll(imageAssetRepository.findUnreferencedPublicIds(tracked));
+            imageAssetRepository.deleteUnreferenced(tracked);
+        }
+        imageDeletionService.enqueue(orphaned);
+    }
+}
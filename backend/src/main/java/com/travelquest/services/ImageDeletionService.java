@@ -0,0 +1,7 @@
+package com.travelquest.services;
+
+import java.util.List;
+
+public interface ImageDeletionService {
+    void enqueue(List<String> publicIds);
+}
@@ -0,0 +1,128 @@
+package com.travelquest.services;
+
+import com.travelquest.entity.ImageDeletion;
+import com.travelquest.enums.TaskStatus;
+import com.travelquest.repositories.ImageDeletionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Removes stored images off the request path.
+ * <p>
+ * Deleting an image only records an {@link ImageDeletion} in the caller's transaction.
+ * A scheduled poller claims due rows in batches of up to
+ * {@link CloudinaryService#MAX_BULK_DELETE} and removes them with one bulk API call.
+ * Assets that are gone or already missing are done; the rest are retried with
+ * exponential backoff until {@code images.deletion.max-attempts}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageDeletionServiceImpl implements ImageDeletionService {
+
+    private final ImageDeletionRepository deletionRepository;
+    private final CloudinaryService cloudinaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${images.deletion.batch-size:100}")
+    private int batchSize;
+
+    @Value("${images.deletion.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${images.deletion.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${images.deletion.backoff-ms:10000}")
+    private long backoffMs;
+
+    @Value("${images.deletion.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    /**
+     * Queues the assets for deletion as one JDBC batch, joining the caller's transaction.
+     */
+    @Override
+    public void enqueue(List<String> publicIds) {
+        List<String> ids = publicIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate("INSERT INTO image_deletions "
+                        + "(public_id, status, attempts, next_attempt_at, created_at, updated_at) VALUES (?, ?, 0, ?, ?, ?)",
+                ids.stream()
+                        .map(id -> new Object[]{id, TaskStatus.PENDING.name(), now, now, now})
+                        .collect(Collectors.toList()));
+    }
+
+    @Scheduled(fixedDelayString = "${images.deletion.poll-interval-ms:5000}")
+    public void poll() {
+        int limit = Math.max(1, Math.min(batchSize, CloudinaryService.MAX_BULK_DELETE));
+        List<ImageDeletion> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = deletionRepository.lockDueIds(now, limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            deletionRepository.claim(ids, TaskStatus.IN_PROGRESS, now.plusNanos(leaseMs * 1_000_000), now);
+            return deletionRepository.findAllById(ids);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        List<Long> done = new ArrayList<>();
+        List<ImageDeletion> failed = new ArrayList<>();
+        String error;
+        try {
+            Map<String, String> outcomes = cloudinaryService.deleteResources(claimed.stream()
+                    .map(ImageDeletion::getPublicId)
+                    .distinct()
+                    .collect(Collectors.toList()));
+            for (ImageDeletion deletion : claimed) {
+                String outcome = outcomes.get(deletion.getPublicId());
+                if ("deleted".equals(outcome) || "not_found".equals(outcome)) {
+                    done.add(deletion.getId());
+                } else {
+                    failed.add(deletion);
+                }
+            }
+            error = "Not deleted";
+        } catch (Exception e) {
+            failed.addAll(claimed);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        String lastError = error.length() > 1000 ? error.substring(0, 1000) : error;
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!done.isEmpty()) {
+                deletionRepository.deleteByIds(done);
+            }
+            for (ImageDeletion deletion : failed) {
+                if (deletion.getAttempts() >= maxAttempts) {
+                    deletionRepository.reschedule(deletion.getId(), TaskStatus.FAILED, now, lastError, now);
+                } else {
+                    long delay = Math.min(maxBackoffMs, backoffMs << Math.min(20, deletion.getAttempts() - 1));
+                    deletionRepository.reschedule(deletion.getId(), TaskStatus.PENDING,
+                            now.plusNanos(delay * 1_000_000), lastError, now);
+                }
+            }
+        });
+        if (!failed.isEmpty()) {
+            System.err.println("Deleting " + failed.size() + " of " + claimed.size() + " images failed: " + lastError);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.travelquest.services;
+
+import com.travelquest.repositories.AdventureRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps itinerary keys sparse.
+ * <p>
+ * Adventures in a collection are ordered by {@code itineraryPosition} keys spaced
+ * {@link #GAP} apart. A move takes the midpoint of its neighbours, so repeated moves
+ * into the same spot halve the gap each time; once a day runs out of room the move
+ * itself renumbers it. This pass respaces days whose keys got tight, and positions
+ * members that predate the itinerary, before a request has to.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItineraryRebalancer {
+
+    public static final long GAP = 1L << 16;
+
+    private static final long MIN_GAP = GAP >> 8;
+
+    private final AdventureRepository adventureRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${itinerary.rebalance-batch:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${itinerary.rebalance-interval-ms:3600000}",
+            fixedDelayString = "${itinerary.rebalance-interval-ms:3600000}")
+    public void rebalance() {
+        try {
+            List<Long> collectionIds = adventureRepository.findCollectionsToRebalance(MIN_GAP, batchSize);
+            int rows = 0;
+            for (Long collectionId : collectionIds) {
+                Integer updated = transactionTemplate.execute(
+                        status -> adventureRepository.rebalanceItinerary(collectionId, GAP));
+                rows += updated != null ? updated : 0;
+            }
+            if (!collectionIds.isEmpty()) {
+                System.out.println("Rebalanced itineraries of " + collectionIds.size() + " collections ("
+                        + rows + " adventures)");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Itinerary rebalance failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.travelquest.services;
+
+import com.travelquest.repositories.AdventureRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for {@code adventures.likes_count}.
+ * <p>
+ * Like/unlike deltas are merged per adventure in a {@link ConcurrentHashMap}
+ * (per-bin locking keeps hot adventures from serializing on one lock) and flushed
+ * periodically as one UPDATE per distinct delta value. Readers add the unflushed
+ * delta so counts stay exact for this node. A reconciliation job recomputes the
+ * column from {@code adventure_likes}.
+ * <p>
+ * A like transaction holds {@link #barrier}'s read lock from just before it commits
+ * until its delta is recorded, and reconciliation holds the write lock. So every like
+ * the recount sees has already been flushed, and none commits between the final flush
+ * and the recount, which would otherwise count it twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeCountBuffer {
+
+    private static final int FLUSH_CHUNK = 1000;
+
+    private final AdventureRepository adventureRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> flushing = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock barrier = new ReentrantReadWriteLock();
+
+    @Value("${likes.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    /**
+     * Records a delta once the surrounding transaction commits, or immediately
+     * when called outside a transaction.
+     */
+    public void recordAfterCommit(Long adventureId, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean holding;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    barrier.readLock().lock();
+                    holding = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    record(adventureId, delta);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (holding) {
+                        holding = false;
+                        barrier.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            barrier.readLock().lock();
+            try {
+                record(adventureId, delta);
+            } finally {
+                barrier.readLock().unlock();
+            }
+        }
+    }
+
+    public void record(Long adventureId, long delta) {
+        pending.merge(adventureId, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    public long pendingDelta(Long adventureId) {
+        // pending first: flush() moves a delta into flushing before dropping it from pending.
+        return pending.getOrDefault(adventureId, 0L) + flushing.getOrDefault(adventureId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.flush-interval-ms:2000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        for (Long adventureId : pending.keySet()) {
+            // Publish to flushing before removing from pending so pendingDelta never misses it.
+            pending.computeIfPresent(adventureId, (id, delta) -> {
+                flushing.put(id, delta);
+                return null;
+            });
+            Long delta = flushing.get(adventureId);
+            if (delta != null) {
+                idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(adventureId);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> idsByDelta.forEach((delta, ids) -> {
+                for (int i = 0; i < ids.size(); i += FLUSH_CHUNK) {
+                    adventureRepository.addLikes(ids.subList(i, Math.min(ids.size(), i + FLUSH_CHUNK)), delta);
+                }
+            }));
+        } catch (RuntimeException e) {
+            System.err.println("Like count flush failed, will retry: " + e.getMessage());
+            flushing.forEach(this::record);
+        } finally {
+            flushing.clear();
+        }
+    }
+
+    @Scheduled(cron = "${likes.reconcile-cron:0 30 3 * * *}")
+    public synchronized void reconcile() {
+        Integer fixed;
+        barrier.writeLock().lock();
+        try {
+            flush();
+            if (!pending.isEmpty()) {
+                // Only a failed flush leaves deltas behind here; recounting now would apply them twice.
+                System.err.println("Skipping like count reconciliation until pending deltas are flushed");
+                return;
+            }
+            fixed = transactionTemplate.execute(status -> adventureRepository.reconcileLikeCounts());
+        } finally {
+            barrier.writeLock().unlock();
+        }
+        if (fixed != null && fixed > 0) {
+            System.out.println("Reconciled like counts of " + fixed + " adventures");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,255 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.ClusterDTO;
+import com.travelquest.enums.ChangeType;
+import com.travelquest.events.AdventureChangedEvent;
+import com.travelquest.repositories.AdventureRepository;
+import com.travelquest.utils.map.BoundingBox;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-memory marker clusters of public adventures, one level per zoom.
+ * <p>
+ * Each zoom level is a Web Mercator grid whose cells are {@code map.clusters.radius-px}
+ * pixels wide at that zoom; with a power-of-two cell count the grid of zoom {@code z + 1}
+ * nests exactly inside zoom {@code z}. A cell only keeps its count and coordinate/id
+ * sums, so adding, moving or removing an adventure touches one cell per level, and a
+ * single-member cell yields that adventure's exact position and id.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapClusterIndex {
+
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final AdventureRepository adventureRepository;
+
+    @Value("${map.clusters.max-zoom:16}")
+    private int maxZoom;
+
+    @Value("${map.clusters.radius-px:64}")
+    private int radiusPx;
+
+    @Value("${map.clusters.max-results:500}")
+    private int maxResults;
+
+    private Levels levels;
+    private List<Consumer<Levels>> journal;
+
+    @PostConstruct
+    public void init() {
+        levels = new Levels(maxZoom, 31 - Integer.numberOfLeadingZeros(Math.max(1, 256 / radiusPx)));
+    }
+
+    /**
+     * Returns the clusters intersecting the box at {@code zoom}, largest first and at
+     * most {@code map.clusters.max-results} of them.
+     */
+    public synchronized List<ClusterDTO> clusters(BoundingBox box, int zoom) {
+        int z = Math.max(0, Math.min(zoom, maxZoom));
+        Map<Long, Cell> cells = levels.cells[z];
+        long perAxis = levels.cellsPerAxis(z);
+
+        List<Map.Entry<Long, Cell>> hits = new ArrayList<>();
+        for (BoundingBox part : box.split()) {
+            long minX = cellOf(mercatorX(part.minLon()), perAxis);
+            long maxX = cellOf(mercatorX(part.maxLon()), perAxis);
+            long minY = cellOf(mercatorY(part.maxLat()), perAxis);
+            long maxY = cellOf(mercatorY(part.minLat()), perAxis);
+
+            if ((maxX - minX + 1) * (maxY - minY + 1) > cells.size()) {
+                for (Map.Entry<Long, Cell> e : cells.entrySet()) {
+                    long x = e.getKey() % perAxis;
+                    long y = e.getKey() / perAxis;
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        hits.add(e);
+                    }
+                }
+            } else {
+                for (long y = minY; y <= maxY; y++) {
+                    for (long x = minX; x <= maxX; x++) {
+                        Cell cell = cells.get(y * perAxis + x);
+                        if (cell != null) {
+                            hits.add(Map.entry(y * perAxis + x, cell));
+                        }
+                    }
+                }
+            }
+        }
+
+        return hits.stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Long, Cell> e) -> e.getValue().count).reversed())
+                .limit(maxResults)
+                .map(e -> toDTO(e.getValue()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdventureChanged(AdventureChangedEvent event) {
+        Long id = event.adventureId();
+        if (event.type() == ChangeType.DELETED || !event.publicVisibility()) {
+            apply(l -> l.remove(id));
+        } else {
+            double x = mercatorX(event.longitude());
+            double y = mercatorY(event.latitude());
+            apply(l -> l.put(id, x, y));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${map.clusters.rebuild-interval-ms:600000}",
+            fixedDelayString = "${map.clusters.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Levels rebuilt = new Levels(levels.maxZoom, levels.baseShift);
+            List<Object[]> rows = adventureRepository.findPublicPositions();
+            for (Object[] row : rows) {
+                rebuilt.put((Long) row[0], mercatorX((Double) row[2]), mercatorY((Double) row[1]));
+            }
+
+            synchronized (this) {
+                journal.forEach(op -> op.accept(rebuilt));
+                levels = rebuilt;
+            }
+            System.out.println("Rebuilt map clusters over " + rows.size() + " adventures in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Map cluster rebuild failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Levels> op) {
+        op.accept(levels);
+        if (journal != null) {
+            journal.add(op);
+        }
+    }
+
+    private static ClusterDTO toDTO(Cell cell) {
+        double x = cell.sumX / cell.count;
+        double y = cell.sumY / cell.count;
+        return new ClusterDTO(latitudeOf(y), longitudeOf(x), cell.count, cell.count == 1 ? cell.sumIds : null);
+    }
+
+    private static long cellOf(double mercator, long perAxis) {
+        return Math.max(0, Math.min(perAxis - 1, (long) Math.floor(mercator * perAxis)));
+    }
+
+    private static double mercatorX(double longitude) {
+        return longitude / 360 + 0.5;
+    }
+
+    private static double mercatorY(double latitude) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude))));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    private static double longitudeOf(double x) {
+        return (x - 0.5) * 360;
+    }
+
+    private static double latitudeOf(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    /**
+     * Running aggregate of one grid cell.
+     */
+    private static final class Cell {
+        int count;
+        double sumX;
+        double sumY;
+        long sumIds;
+    }
+
+    /**
+     * Indexed positions plus one cell grid per zoom. Not thread-safe; guarded by the
+     * enclosing index.
+     */
+    private static final class Levels {
+
+        private final int maxZoom;
+        private final int baseShift;
+        private final Map<Long, double[]> positions = new HashMap<>();
+        private final Map<Long, Cell>[] cells;
+
+        @SuppressWarnings("unchecked")
+        private Levels(int maxZoom, int baseShift) {
+            this.maxZoom = maxZoom;
+            this.baseShift = baseShift;
+            this.cells = new Map[maxZoom + 1];
+            for (int z = 0; z <= maxZoom; z++) {
+                cells[z] = new HashMap<>();
+            }
+        }
+
+        long cellsPerAxis(int zoom) {
+            return 1L << (zoom + baseShift);
+        }
+
+        void put(long id, double x, double y) {
+            double[] previous = positions.get(id);
+            if (previous != null && previous[0] == x && previous[1] == y) {
+                return;
+            }
+            remove(id);
+            positions.put(id, new double[]{x, y});
+            for (int z = 0; z <= maxZoom; z++) {
+                long perAxis = cellsPerAxis(z);
+                Cell cell = cells[z].computeIfAbsent(cellOf(y, perAxis) * perAxis + cellOf(x, perAxis), k -> new Cell());
+                cell.count++;
+                cell.sumX += x;
+                cell.sumY += y;
+                cell.sumIds += id;
+            }
+        }
+
+        void remove(long id) {
+            double[] position = positions.remove(id);
+            if (position == null) {
+                return;
+            }
+            for (int z = 0; z <= maxZoom; z++) {
+                long perAxis = cellsPerAxis(z);
+                long key = cellOf(position[1], perAxis) * perAxis + cellOf(position[0], perAxis);
+                Cell cell = cells[z].get(key);
+                if (cell == null) {
+                    continue;
+                }
+                if (--cell.count == 0) {
+                    cells[z].remove(key);
+                } else {
+                    cell.sumX -= position[0];
+                    cell.sumY -= position[1];
+                    cell.sumIds -= id;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.travelquest.services;
+
+import com.travelquest.events.AdventureLikedEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Changes an in-memory index applied while it was being rebuilt, replayed onto the
+ * rebuilt state before it is swapped in.
+ * <p>
+ * Adventure changes overwrite state and replay as they are. A like or unlike only
+ * replays if it changes the rebuild's snapshot: the snapshot state of each journaled
+ * (adventure, user) pair is read in the rebuild's repeatable-read transaction, so a
+ * like the snapshot already contains is not counted twice, whichever side of the
+ * snapshot its event arrived on. Entries are added under the owning index's lock.
+ */
+final class RebuildJournal<T> {
+
+    private final Object lock;
+    private final List<Entry<T>> entries = new ArrayList<>();
+    private final Set<Like> loaded = new HashSet<>();
+    private final Set<Like> liked = new HashSet<>();
+
+    RebuildJournal(Object lock) {
+        this.lock = lock;
+    }
+
+    void add(Consumer<T> op) {
+        entries.add(new Entry<>(op, null));
+    }
+
+    void add(AdventureLikedEvent event, Consumer<T> op) {
+        entries.add(new Entry<>(op, event));
+    }
+
+    /**
+     * Reads the snapshot state of journaled likes not looked up yet through
+     * {@code findLikes(adventureIds, userIds)}, which returns (adventure id, user id)
+     * rows. Runs the query without holding the index lock.
+     */
+    void loadSnapshot(BiFunction<Set<Long>, Set<Long>, List<Object[]>> findLikes) {
+        Set<Like> pending = new HashSet<>();
+        synchronized (lock) {
+            for (Entry<T> entry : entries) {
+                if (entry.like() != null && !loaded.contains(Like.of(entry.like()))) {
+                    pending.add(Like.of(entry.like()));
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Set<Long> adventureIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Like like : pending) {
+            adventureIds.add(like.adventureId());
+            userIds.add(like.userId());
+        }
+        Set<Like> found = new HashSet<>();
+        for (Object[] row : findLikes.apply(adventureIds, userIds)) {
+            found.add(new Like((Long) row[0], (Long) row[1]));
+        }
+        found.retainAll(pending);
+
+        synchronized (lock) {
+            liked.addAll(found);
+            loaded.addAll(pending);
+        }
+    }
+
+    /**
+     * Replays the journal onto {@code target} if every like's snapshot state is loaded,
+     * and returns whether it did. Call under the index lock, so nothing is added between
+     * this check and the swap.
+     */
+    boolean replayIfLoaded(T target) {
+        for (Entry<T> entry : entries) {
+            if (entry.like() != null && !loaded.contains(Like.of(entry.like()))) {
+                return false;
+            }
+        }
+        for (Entry<T> entry : entries) {
+            AdventureLikedEvent event = entry.like();
+            if (event != null) {
+                Like like = Like.of(event);
+                if (!(event.liked() ? liked.add(like) : liked.remove(like))) {
+                    continue; // the snapshot already has this state
+                }
+            }
+            entry.op().accept(target);
+        }
+        return true;
+    }
+
+    private record Like(long adventureId, long userId) {
+        static Like of(AdventureLikedEvent event) {
+            return new Like(event.adventureId(), event.userId());
+        }
+    }
+
+    private record Entry<T>(Consumer<T> op, AdventureLikedEvent like) {}
+}
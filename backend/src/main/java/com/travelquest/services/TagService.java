@@ -0,0 +1,11 @@
+package com.travelquest.services;
+
+import java.util.List;
+
+import com.travelquest.dto.TagCountDTO;
+
+public interface TagService {
+    List<TagCountDTO> suggest(String prefix, int limit);
+    List<TagCountDTO> facets(List<String> tags, boolean matchAll, int limit);
+    List<Long> findAdventureIds(List<String> tags, boolean matchAll, int limit);
+}
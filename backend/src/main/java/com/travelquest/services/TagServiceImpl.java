@@ -0,0 +1,427 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.TagCountDTO;
+import com.travelquest.enums.ChangeType;
+import com.travelquest.events.AdventureChangedEvent;
+import com.travelquest.repositories.AdventureRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory tag index over public adventures.
+ * <p>
+ * Normalized tags live in a compressed (radix) trie whose terminal nodes carry the
+ * number of adventures using the tag, which drives prefix suggestions. Each tag also
+ * has a posting list of adventure ids kept as a sorted {@code long[]}, so AND/OR
+ * filters are linear merges. The index follows adventure changes after commit and is
+ * rebuilt at startup and periodically.
+ */
+@Service
+@RequiredArgsConstructor
+public class TagServiceImpl implements TagService {
+
+    private static final int MAX_QUERY_TAGS = 10;
+
+    private final AdventureRepository adventureRepository;
+
+    private Index index = new Index();
+    private List<Consumer<Index>> journal;
+
+    @Override
+    public synchronized List<TagCountDTO> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized == null) {
+            return List.of();
+        }
+        return index.trie.complete(normalized, Math.max(1, Math.min(limit, 50)));
+    }
+
+    @Override
+    public synchronized List<TagCountDTO> facets(List<String> tags, boolean matchAll, int limit) {
+        Set<String> query = normalizeAll(tags);
+        long[] ids = index.match(query, matchAll);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long id : ids) {
+            for (String tag : index.tagsByAdventure.getOrDefault(id, Set.of())) {
+                if (!query.contains(tag)) {
+                    counts.merge(tag, 1, Integer::sum);
+                }
+            }
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(Math.max(1, Math.min(limit, 100)))
+                .map(e -> new TagCountDTO(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    /**
+     * Returns ids of public adventures carrying all (or any) of the tags, newest first.
+     */
+    @Override
+    public synchronized List<Long> findAdventureIds(List<String> tags, boolean matchAll, int limit) {
+        long[] ids = index.match(normalizeAll(tags), matchAll);
+        List<Long> newest = new ArrayList<>(Math.min(ids.length, limit));
+        for (int i = ids.length - 1; i >= 0 && newest.size() < limit; i--) {
+            newest.add(ids[i]);
+        }
+        return newest;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdventureChanged(AdventureChangedEvent event) {
+        Long id = event.adventureId();
+        if (event.type() == ChangeType.DELETED || !event.publicVisibility()) {
+            apply(i -> i.put(id, Set.of()));
+        } else {
+            Set<String> tags = normalizeAll(event.tags());
+            apply(i -> i.put(id, tags));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${tags.rebuild-interval-ms:600000}",
+            fixedDelayString = "${tags.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<Long, Set<String>> tagsByAdventure = new HashMap<>();
+            for (Object[] row : adventureRepository.findPublicTags()) {
+                String tag = normalize((String) row[1]);
+                if (tag != null) {
+                    tagsByAdventure.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>()).add(tag);
+                }
+            }
+            Index rebuilt = new Index();
+            tagsByAdventure.forEach(rebuilt::put);
+
+            synchronized (this) {
+                journal.forEach(op -> op.accept(rebuilt));
+                index = rebuilt;
+            }
+            System.out.println("Rebuilt tag index: " + rebuilt.postings.size() + " tags over "
+                    + tagsByAdventure.size() + " adventures in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Tag index rebuild failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Index> op) {
+        op.accept(index);
+        if (journal != null) {
+            journal.add(op);
+        }
+    }
+
+    static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = tag.trim().toLowerCase().replaceAll("\\s+", " ");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static Set<String> normalizeAll(List<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String n = normalize(tag);
+                if (n != null && normalized.size() < MAX_QUERY_TAGS) {
+                    normalized.add(n);
+                }
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Trie, posting lists and each adventure's current tags. Not thread-safe; guarded
+     * by the enclosing service.
+     */
+    private static final class Index {
+
+        private final RadixTrie trie = new RadixTrie();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Set<String>> tagsByAdventure = new HashMap<>();
+
+        /**
+         * Replaces the adventure's tags; an empty set removes it.
+         */
+        void put(long id, Set<String> tags) {
+            Set<String> previous = tagsByAdventure.getOrDefault(id, Set.of());
+            for (String tag : previous) {
+                if (!tags.contains(tag)) {
+                    Postings list = postings.get(tag);
+                    if (list != null && list.remove(id)) {
+                        trie.add(tag, -1);
+                        if (list.size == 0) {
+                            postings.remove(tag);
+                        }
+                    }
+                }
+            }
+            for (String tag : tags) {
+                if (!previous.contains(tag) && postings.computeIfAbsent(tag, t -> new Postings()).add(id)) {
+                    trie.add(tag, 1);
+                }
+            }
+            if (tags.isEmpty()) {
+                tagsByAdventure.remove(id);
+            } else {
+                tagsByAdventure.put(id, Set.copyOf(tags));
+            }
+        }
+
+        long[] match(Set<String> tags, boolean matchAll) {
+            List<long[]> lists = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                Postings list = postings.get(tag);
+                if (list != null) {
+                    lists.add(list.toArray());
+                } else if (matchAll) {
+                    return new long[0];
+                }
+            }
+            if (lists.isEmpty()) {
+                return new long[0];
+            }
+            // Intersect smallest first so the running result only shrinks.
+            lists.sort(Comparator.comparingInt(list -> list.length));
+            long[] result = lists.get(0);
+            for (int i = 1; i < lists.size(); i++) {
+                result = matchAll ? intersect(result, lists.get(i)) : union(result, lists.get(i));
+            }
+            return result;
+        }
+
+        private static long[] intersect(long[] a, long[] b) {
+            long[] out = new long[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private static long[] union(long[] a, long[] b) {
+            long[] out = new long[a.length + b.length];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length || j < b.length) {
+                if (j == b.length || (i < a.length && a[i] < b[j])) {
+                    out[n++] = a[i++];
+                } else if (i == a.length || b[j] < a[i]) {
+                    out[n++] = b[j++];
+                } else {
+                    out[n++] = a[i++];
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free adventure ids.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean add(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return false;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    /**
+     * Radix trie of tags: edges carry whole substrings, single-child chains are merged
+     * and terminal nodes hold the tag's adventure count.
+     */
+    private static final class RadixTrie {
+
+        private final Node root = new Node("");
+
+        void add(String tag, int delta) {
+            Node node = root;
+            int i = 0;
+            List<Node> path = new ArrayList<>();
+            path.add(node);
+            while (i < tag.length()) {
+                Node child = node.children.get(tag.charAt(i));
+                if (child == null) {
+                    if (delta <= 0) {
+                        return;
+                    }
+                    child = new Node(tag.substring(i));
+                    node.children.put(tag.charAt(i), child);
+                    node = child;
+                    path.add(node);
+                    break;
+                }
+                int common = commonPrefix(child.label, tag, i);
+                if (common < child.label.length()) {
+                    if (delta <= 0) {
+                        return;
+                    }
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    node.children.put(split.label.charAt(0), split);
+                    child = split;
+                }
+                node = child;
+                path.add(node);
+                i += common;
+            }
+
+            node.count = Math.max(0, node.count + delta);
+            if (node.count == 0) {
+                prune(path);
+            }
+        }
+
+        /**
+         * Returns up to {@code limit} tags starting with {@code prefix}, most used first.
+         */
+        List<TagCountDTO> complete(String prefix, int limit) {
+            Node node = root;
+            StringBuilder matched = new StringBuilder();
+            int i = 0;
+            while (i < prefix.length()) {
+                Node child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.label, prefix, i);
+                if (common < child.label.length() && i + common < prefix.length()) {
+                    return List.of();
+                }
+                matched.append(child.label);
+                node = child;
+                i += common;
+            }
+
+            PriorityQueue<TagCountDTO> best = new PriorityQueue<>(
+                    Comparator.comparingInt(TagCountDTO::getCount).thenComparing(TagCountDTO::getTag, Comparator.reverseOrder()));
+            collect(node, matched, best, limit);
+            List<TagCountDTO> result = new ArrayList<>(best);
+            result.sort(best.comparator().reversed());
+            return result;
+        }
+
+        private void collect(Node node, StringBuilder word, PriorityQueue<TagCountDTO> best, int limit) {
+            if (node.count > 0) {
+                best.add(new TagCountDTO(word.toString(), node.count));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            for (Node child : node.children.values()) {
+                int length = word.length();
+                word.append(child.label);
+                collect(child, word, best, limit);
+                word.setLength(length);
+            }
+        }
+
+        private void prune(List<Node> path) {
+            for (int p = path.size() - 1; p > 0; p--) {
+                Node node = path.get(p);
+                Node parent = path.get(p - 1);
+                if (node.count > 0) {
+                    return;
+                }
+                if (node.children.isEmpty()) {
+                    parent.children.remove(node.label.charAt(0));
+                } else if (node.children.size() == 1) {
+                    Node only = node.children.values().iterator().next();
+                    only.label = node.label + only.label;
+                    parent.children.put(only.label.charAt(0), only);
+                    return;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static int commonPrefix(String label, String word, int offset) {
+            int n = Math.min(label.length(), word.length() - offset);
+            int i = 0;
+            while (i < n && label.charAt(i) == word.charAt(offset + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        private static final class Node {
+            private String label;
+            private int count;
+            private final TreeMap<Character, Node> children = new TreeMap<>();
+
+            private Node(String label) {
+                this.label = label;
+            }
+        }
+    }
+}
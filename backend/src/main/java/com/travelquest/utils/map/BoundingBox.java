@@ -0,0 +1,53 @@
+package com.travelquest.utils.map;
+
+import java.util.List;
+
+/**
+ * Map viewport in degrees. {@code minLon > maxLon} means the box crosses the antimeridian.
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+
+    /**
+     * Parses {@code minLon,minLat,maxLon,maxLat}.
+     */
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        try {
+            BoundingBox box = new BoundingBox(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+            if (box.minLat() > box.maxLat() || Math.abs(box.minLat()) > 90 || Math.abs(box.maxLat()) > 90
+                    || Math.abs(box.minLon()) > 180 || Math.abs(box.maxLon()) > 180) {
+                throw new IllegalArgumentException("bbox is out of range");
+            }
+            return box;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLon > maxLon;
+    }
+
+    /**
+     * Splits a box crossing the antimeridian into its two halves.
+     */
+    public List<BoundingBox> split() {
+        if (!crossesAntimeridian()) {
+            return List.of(this);
+        }
+        return List.of(new BoundingBox(minLon, minLat, 180, maxLat), new BoundingBox(-180, minLat, maxLon, maxLat));
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLat || latitude > maxLat) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? longitude >= minLon || longitude <= maxLon
+                : longitude >= minLon && longitude <= maxLon;
+    }
+}
@@ -0,0 +1,194 @@
+package com.travelquest.utils.map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of reverse-geocode results keyed by coordinates rounded to
+ * {@code maptiler.cache.precision} decimal places. Entries expire after the
+ * configured TTL and the whole cache is snapshotted to disk so a restart starts warm.
+ * Size, hits, misses and evictions are published as {@code geocode.cache.*} meters.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeocodeCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${maptiler.cache.precision:3}")
+    private int precision;
+
+    @Value("${maptiler.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${maptiler.cache.ttl-hours:720}")
+    private long ttlHours;
+
+    @Value("${maptiler.cache.snapshot-path:}")
+    private String snapshotPath;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private LinkedHashMap<String, Entry> entries;
+    private boolean dirty;
+
+    Clock clock = Clock.systemUTC();
+
+    @PostConstruct
+    public void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        load();
+    }
+
+    public String key(double latitude, double longitude) {
+        double scale = Math.pow(10, precision);
+        return Math.round(latitude * scale) + ":" + Math.round(longitude * scale);
+    }
+
+    public synchronized Map<String, String> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt() < clock.millis()) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            dirty = true;
+            return null;
+        }
+        hits.incrementAndGet();
+        return new HashMap<>(entry.value());
+    }
+
+    public synchronized void put(String key, Map<String, String> value) {
+        long expiresAt = clock.millis() + Duration.ofHours(ttlHours).toMillis();
+        entries.put(key, new Entry(new HashMap<>(value), expiresAt));
+        dirty = true;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), hits.get(), misses.get(), evictions.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("geocode.cache.size", this, cache -> cache.stats().size())
+                .description("Reverse-geocode results currently cached")
+                .register(registry);
+        FunctionCounter.builder("geocode.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Reverse-geocode cache lookups")
+                .register(registry);
+        FunctionCounter.builder("geocode.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Reverse-geocode cache lookups")
+                .register(registry);
+        FunctionCounter.builder("geocode.cache.evictions", evictions, AtomicLong::get)
+                .description("Entries dropped for size or age")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${maptiler.cache.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        snapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+        System.out.println("Geocode cache stats: " + stats());
+    }
+
+    public void snapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return;
+        }
+        List<SnapshotEntry> copy;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            copy = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> copy.add(new SnapshotEntry(key, entry.value(), entry.expiresAt())));
+            dirty = false;
+        }
+
+        try {
+            Path target = Path.of(snapshotPath);
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), copy);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Geocode cache snapshot failed: " + e.getMessage());
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+
+    private void load() {
+        if (snapshotPath == null || snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return;
+        }
+        try {
+            List<SnapshotEntry> snapshot = objectMapper.readValue(Path.of(snapshotPath).toFile(),
+                    new TypeReference<List<SnapshotEntry>>() {});
+            long now = clock.millis();
+            synchronized (this) {
+                for (SnapshotEntry e : snapshot) {
+                    if (e.expiresAt() > now) {
+                        entries.put(e.key(), new Entry(e.value(), e.expiresAt()));
+                    }
+                }
+            }
+            System.out.println("Loaded " + entries.size() + " geocode cache entries from " + snapshotPath);
+        } catch (IOException e) {
+            System.err.println("Geocode cache snapshot could not be read: " + e.getMessage());
+        }
+    }
+
+    private record Entry(Map<String, String> value, long expiresAt) {}
+
+    private record SnapshotEntry(String key, Map<String, String> value, long expiresAt) {}
+
+    public record Stats(int size, long hits, long misses, long evictions) {}
+}
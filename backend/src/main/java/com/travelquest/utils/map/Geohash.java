@@ -0,0 +1,95 @@
+package com.travelquest.utils.map;
+
+/**
+ * Geohashes as {@code 5 * precision}-bit longs. A cell at precision {@code p} is also
+ * addressed by its column/row in a {@code 2^lonBits x 2^latBits} grid; coarser cells
+ * are bit prefixes of finer ones.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static long encode(double latitude, double longitude, int precision) {
+        long x = column(longitude, precision);
+        long y = row(latitude, precision);
+        return interleave(x, y, precision);
+    }
+
+    public static long column(double longitude, int precision) {
+        long cells = 1L << lonBits(precision);
+        return Math.max(0, Math.min(cells - 1, (long) Math.floor((longitude + 180) / 360 * cells)));
+    }
+
+    public static long row(double latitude, int precision) {
+        long cells = 1L << latBits(precision);
+        return Math.max(0, Math.min(cells - 1, (long) Math.floor((latitude + 90) / 180 * cells)));
+    }
+
+    /**
+     * Combines a grid column and row into a geohash; longitude takes the even bits
+     * counted from the most significant end.
+     */
+    public static long interleave(long column, long row, int precision) {
+        int bits = 5 * precision;
+        long hash = 0;
+        int lonBit = lonBits(precision) - 1;
+        int latBit = latBits(precision) - 1;
+        for (int i = 0; i < bits; i++) {
+            hash <<= 1;
+            hash |= (i % 2 == 0) ? (column >>> lonBit--) & 1 : (row >>> latBit--) & 1;
+        }
+        return hash;
+    }
+
+    public static long columnOf(long hash, int precision) {
+        return deinterleave(hash, precision, 0);
+    }
+
+    public static long rowOf(long hash, int precision) {
+        return deinterleave(hash, precision, 1);
+    }
+
+    /**
+     * Returns the hash of the enclosing cell at a coarser precision.
+     */
+    public static long truncate(long hash, int fromPrecision, int toPrecision) {
+        return hash >>> (5 * (fromPrecision - toPrecision));
+    }
+
+    public static double centerLatitude(long hash, int precision) {
+        return (rowOf(hash, precision) + 0.5) / (1L << latBits(precision)) * 180 - 90;
+    }
+
+    public static double centerLongitude(long hash, int precision) {
+        return (columnOf(hash, precision) + 0.5) / (1L << lonBits(precision)) * 360 - 180;
+    }
+
+    public static String toBase32(long hash, int precision) {
+        char[] chars = new char[precision];
+        for (int i = precision - 1; i >= 0; i--) {
+            chars[i] = BASE32[(int) (hash & 31)];
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static int lonBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    public static int latBits(int precision) {
+        return 5 * precision / 2;
+    }
+
+    private static long deinterleave(long hash, int precision, int parity) {
+        int bits = 5 * precision;
+        long value = 0;
+        for (int i = parity; i < bits; i += 2) {
+            value = (value << 1) | ((hash >>> (bits - 1 - i)) & 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,251 @@
+package com.travelquest.utils.map;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline reverse geocoder backed by a GeoNames-style gazetteer.
+ * <p>
+ * Populated places are loaded into flat primitive arrays bucketed by a one-degree
+ * grid (cells are stored contiguously, {@code cellStart} holds the offsets), so a
+ * lookup only scans the handful of cells around the query point.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalGeocoder {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final int LAT_CELLS = 180;
+    private static final int LON_CELLS = 360;
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${geocoding.local.cities-file:}")
+    private String citiesFile;
+
+    @Value("${geocoding.local.admin1-file:}")
+    private String admin1File;
+
+    @Value("${geocoding.local.countries-file:}")
+    private String countriesFile;
+
+    @Value("${geocoding.local.max-distance-km:25}")
+    private double maxDistanceKm;
+
+    @Value("${geocoding.local.min-population:0}")
+    private long minPopulation;
+
+    private float[] latitudes = new float[0];
+    private float[] longitudes = new float[0];
+    private String[] cities = new String[0];
+    private String[] regions = new String[0];
+    private String[] countries = new String[0];
+    private int[] cellStart = new int[LAT_CELLS * LON_CELLS + 1];
+
+    @PostConstruct
+    public void init() {
+        if (citiesFile == null || citiesFile.isBlank()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, String> admin1Names = readNames(admin1File, 0, 1);
+            Map<String, String> countryNames = readNames(countriesFile, 0, 4);
+            loadCities(admin1Names, countryNames);
+            System.out.println("Loaded " + size() + " gazetteer places in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException e) {
+            System.err.println("Gazetteer could not be loaded: " + e.getMessage());
+        }
+    }
+
+    public boolean isLoaded() {
+        return size() > 0;
+    }
+
+    public int size() {
+        return latitudes.length;
+    }
+
+    /**
+     * Returns city/region/country of the nearest populated place within
+     * {@code geocoding.local.max-distance-km}, or {@code null} when there is no confident match.
+     */
+    public Map<String, String> reverseGeocode(double latitude, double longitude) {
+        if (!isLoaded()) {
+            return null;
+        }
+
+        double latSpan = Math.toDegrees(maxDistanceKm / EARTH_RADIUS_KM);
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lonSpan = Math.min(180, latSpan / cosLat);
+
+        int minLatCell = latCell(latitude - latSpan);
+        int maxLatCell = latCell(latitude + latSpan);
+        int lonCellCount = (int) Math.min(LON_CELLS, Math.ceil(lonSpan) * 2 + 1);
+        int firstLonCell = lonCell(longitude - lonSpan);
+
+        int best = -1;
+        double bestDistance = maxDistanceKm;
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int i = 0; i < lonCellCount; i++) {
+                int cell = latCell * LON_CELLS + (firstLonCell + i) % LON_CELLS;
+                for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+                    double distance = distanceKm(latitude, longitude, latitudes[p], longitudes[p]);
+                    if (distance <= bestDistance) {
+                        bestDistance = distance;
+                        best = p;
+                    }
+                }
+            }
+        }
+
+        if (best < 0) {
+            return null;
+        }
+        Map<String, String> result = new HashMap<>();
+        result.put("city", cities[best]);
+        result.put("region", regions[best]);
+        result.put("country", countries[best]);
+        return result;
+    }
+
+    private void loadCities(Map<String, String> admin1Names, Map<String, String> countryNames) throws IOException {
+        int capacity = 1 << 16;
+        float[] lats = new float[capacity];
+        float[] lons = new float[capacity];
+        String[] cityNames = new String[capacity];
+        String[] regionNames = new String[capacity];
+        String[] countryValues = new String[capacity];
+        int count = 0;
+
+        Map<String, String> interned = new HashMap<>();
+        try (BufferedReader reader = open(citiesFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] f = line.split("\t", -1);
+                if (f.length < 15 || !"P".equals(f[6])) {
+                    continue;
+                }
+                if (minPopulation > 0 && parsePopulation(f[14]) < minPopulation) {
+                    continue;
+                }
+                if (count == capacity) {
+                    capacity *= 2;
+                    lats = Arrays.copyOf(lats, capacity);
+                    lons = Arrays.copyOf(lons, capacity);
+                    cityNames = Arrays.copyOf(cityNames, capacity);
+                    regionNames = Arrays.copyOf(regionNames, capacity);
+                    countryValues = Arrays.copyOf(countryValues, capacity);
+                }
+                String countryCode = f[8];
+                lats[count] = Float.parseFloat(f[4]);
+                lons[count] = Float.parseFloat(f[5]);
+                cityNames[count] = f[1];
+                regionNames[count] = intern(interned, admin1Names.get(countryCode + "." + f[10]));
+                countryValues[count] = intern(interned, countryNames.getOrDefault(countryCode, countryCode));
+                count++;
+            }
+        }
+
+        // Counting sort by grid cell so every cell's places are contiguous.
+        int[] cells = new int[count];
+        int[] start = new int[LAT_CELLS * LON_CELLS + 1];
+        for (int i = 0; i < count; i++) {
+            cells[i] = latCell(lats[i]) * LON_CELLS + lonCell(lons[i]);
+            start[cells[i] + 1]++;
+        }
+        for (int c = 0; c < LAT_CELLS * LON_CELLS; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] next = Arrays.copyOf(start, start.length);
+
+        float[] sortedLats = new float[count];
+        float[] sortedLons = new float[count];
+        String[] sortedCities = new String[count];
+        String[] sortedRegions = new String[count];
+        String[] sortedCountries = new String[count];
+        for (int i = 0; i < count; i++) {
+            int p = next[cells[i]]++;
+            sortedLats[p] = lats[i];
+            sortedLons[p] = lons[i];
+            sortedCities[p] = cityNames[i];
+            sortedRegions[p] = regionNames[i];
+            sortedCountries[p] = countryValues[i];
+        }
+
+        this.cellStart = start;
+        this.latitudes = sortedLats;
+        this.longitudes = sortedLons;
+        this.cities = sortedCities;
+        this.regions = sortedRegions;
+        this.countries = sortedCountries;
+    }
+
+    private Map<String, String> readNames(String location, int keyField, int valueField) throws IOException {
+        Map<String, String> names = new HashMap<>();
+        if (location == null || location.isBlank()) {
+            return names;
+        }
+        try (BufferedReader reader = open(location)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                String[] f = line.split("\t", -1);
+                if (f.length > Math.max(keyField, valueField)) {
+                    names.put(f[keyField], f[valueField]);
+                }
+            }
+        }
+        return names;
+    }
+
+    private BufferedReader open(String location) throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        return new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static String intern(Map<String, String> pool, String value) {
+        return value == null ? null : pool.computeIfAbsent(value, v -> v);
+    }
+
+    private static long parsePopulation(String value) {
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.max(0, Math.min(LAT_CELLS - 1, Math.floor(latitude + 90)));
+    }
+
+    private static int lonCell(double longitude) {
+        int cell = (int) Math.floor(longitude + 180) % LON_CELLS;
+        return cell < 0 ? cell + LON_CELLS : cell;
+    }
+
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,155 @@
+package com.travelquest.utils.map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking MapTiler reverse geocoding client.
+ * <p>
+ * A single pooled {@link HttpClient} is shared by all calls, concurrent lookups for
+ * the same cell share one in-flight request, and a {@link CircuitBreaker} fails fast
+ * while MapTiler is unhealthy.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapTilerClient {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${maptiler.api.key}")
+    private String maptilerApiKey;
+
+    @Value("${maptiler.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${maptiler.request-timeout-ms:3000}")
+    private long requestTimeoutMs;
+
+    @Value("${maptiler.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${maptiler.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    private final Map<String, CompletableFuture<Map<String, String>>> inFlight = new ConcurrentHashMap<>();
+
+    private HttpClient client;
+    private CircuitBreaker breaker;
+
+    @PostConstruct
+    public void init() {
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        breaker = new CircuitBreaker(breakerFailureThreshold, breakerOpenMs);
+    }
+
+    /**
+     * Resolves city/region/country for the point. Lookups sharing {@code key} while a
+     * request is in flight get the same future. The future completes exceptionally on
+     * timeout, non-200 responses or while the circuit is open.
+     */
+    public CompletableFuture<Map<String, String>> reverseGeocode(String key, double latitude, double longitude) {
+        CompletableFuture<Map<String, String>> created = new CompletableFuture<>();
+        CompletableFuture<Map<String, String>> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (!breaker.tryAcquire()) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(new IllegalStateException("MapTiler circuit is open"));
+            return created;
+        }
+
+        CompletableFuture<Map<String, String>> response;
+        try {
+            response = send(latitude, longitude);
+        } catch (RuntimeException e) {
+            // Building or submitting the request failed; fail the shared future so joiners don't hang.
+            inFlight.remove(key, created);
+            breaker.onFailure();
+            created.completeExceptionally(e);
+            return created;
+        }
+
+        response.whenComplete((result, error) -> {
+            inFlight.remove(key, created);
+            if (error != null) {
+                breaker.onFailure();
+                created.completeExceptionally(error);
+            } else {
+                breaker.onSuccess();
+                created.complete(result);
+            }
+        });
+        return created;
+    }
+
+    private CompletableFuture<Map<String, String>> send(double latitude, double longitude) {
+        String url = String.format(
+                "https://api.maptiler.com/geocoding/%f,%f.json?key=%s&language=en",
+                longitude, latitude, maptilerApiKey
+        );
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .GET()
+                .build();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Non-200 response from MapTiler: " + response.statusCode());
+                    }
+                    return parse(response.body());
+                });
+    }
+
+    private Map<String, String> parse(String body) {
+        Map<String, String> result = new HashMap<>();
+        result.put("city", null);
+        result.put("region", null);
+        result.put("country", null);
+
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            JsonNode features = root.get("features");
+
+            if (features != null && features.isArray()) {
+                for (JsonNode feature : features) {
+                    JsonNode placeTypes = feature.get("place_type");
+                    String name = feature.get("text").asText();
+
+                    for (JsonNode type : placeTypes) {
+                        String typeValue = type.asText();
+                        switch (typeValue) {
+                            case "place", "locality", "municipality", "localadmin" -> result.putIfAbsent("city", name);
+                            case "region", "subregion" -> result.putIfAbsent("region", name);
+                            case "country" -> result.putIfAbsent("country", name);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable MapTiler response", e);
+        }
+        return result;
+    }
+}
@@ -1,74 +1,93 @@
 package com.travelquest.utils.map;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelquest.enums.GeocodingMode;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @RequiredArgsConstructor
 public class MapUtils {
-    private final ObjectMapper objectMapper;
+    private final GeocodeCache geocodeCache;
+    private final LocalGeocoder localGeocoder;
+    private final MapTilerClient mapTilerClient;
 
-    @Value("${maptiler.api.key}")
-    private String maptilerApiKey;
+    @Value("${geocoding.mode:hybrid}")
+    private String geocodingMode;
 
-    public Map<String, String> reverseGeocode(double latitude, double longitude) {
-        Map<String, String> result = new HashMap<>();
-        result.put("city", null);
-        result.put("region", null);
-        result.put("country", null);
+    private GeocodingMode mode;
 
-        try {
-            String url = String.format(
-                    "https://api.maptiler.com/geocoding/%f,%f.json?key=%s&language=en",
-                    longitude, latitude, maptilerApiKey
-            );
+    @PostConstruct
+    public void init() {
+        mode = GeocodingMode.valueOf(geocodingMode.trim().toUpperCase());
+        if (mode != GeocodingMode.REMOTE && !localGeocoder.isLoaded()) {
+            System.err.println("Geocoding mode " + mode + " but no gazetteer is loaded");
+        }
+    }
 
-            HttpClient client = HttpClient.newHttpClient();
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .GET()
-                    .build();
+    /**
+     * Blocking variant of {@link #reverseGeocodeAsync}. Bounded by the MapTiler
+     * request timeout; never throws.
+     */
+    public Map<String, String> reverseGeocode(double latitude, double longitude) {
+        return reverseGeocodeAsync(latitude, longitude).join();
+    }
 
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Resolves city/region/country for the point. The future always completes
+     * normally; lookups that fail, time out or hit an open circuit yield null values.
+     */
+    public CompletableFuture<Map<String, String>> reverseGeocodeAsync(double latitude, double longitude) {
+        return lookupAsync(latitude, longitude)
+                .exceptionally(e -> {
+                    System.err.println("Reverse geocoding failed: " + e.getMessage());
+                    return emptyResult();
+                });
+    }
 
-            if (response.statusCode() != 200) {
-                System.err.println("Non-200 response from MapTiler: " + response.body());
-                return result;
+    /**
+     * Like {@link #reverseGeocodeAsync} but completes exceptionally when the remote
+     * lookup fails, so callers that retry can tell a failure from "no match".
+     */
+    public CompletableFuture<Map<String, String>> lookupAsync(double latitude, double longitude) {
+        if (mode != GeocodingMode.REMOTE) {
+            Map<String, String> local = localGeocoder.reverseGeocode(latitude, longitude);
+            if (local != null) {
+                return CompletableFuture.completedFuture(local);
             }
-
-            JsonNode root = objectMapper.readTree(response.body());
-            JsonNode features = root.get("features");
-
-            if (features != null && features.isArray()) {
-                for (JsonNode feature : features) {
-                    JsonNode placeTypes = feature.get("place_type");
-                    String name = feature.get("text").asText();
-
-                    for (JsonNode type : placeTypes) {
-                        String typeValue = type.asText();
-                        switch (typeValue) {
-                            case "place", "locality", "municipality", "localadmin" -> result.putIfAbsent("city", name);
-                            case "region", "subregion" -> result.putIfAbsent("region", name);
-                            case "country" -> result.putIfAbsent("country", name);
-                        }
-                    }
-                }
+            if (mode == GeocodingMode.LOCAL) {
+                return CompletableFuture.completedFuture(emptyResult());
             }
+        }
 
-        } catch (Exception e) {
-            System.err.println("Reverse geocoding failed: " + e.getMessage());
+        String cacheKey = geocodeCache.key(latitude, longitude);
+        Map<String, String> cached = geocodeCache.get(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
+        return mapTilerClient.reverseGeocode(cacheKey, latitude, longitude)
+                .thenApply(result -> {
+                    geocodeCache.put(cacheKey, result);
+                    return result;
+                });
+    }
+
+    public static String locationOf(Map<String, String> geoData) {
+        String region = geoData.get("region");
+        return region != null ? region : "Unknown";
+    }
+
+    private static Map<String, String> emptyResult() {
+        Map<String, String> result = new HashMap<>();
+        result.put("city", null);
+        result.put("region", null);
+        result.put("country", null);
         return result;
     }
 
@@ -0,0 +1,34 @@
+package com.travelquest.utils.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for search results ordered by {@code (rank DESC, id DESC)}.
+ */
+public record SearchCursor(float rank, long id) {
+
+    /**
+     * Sorts before every real result, used for the first page.
+     */
+    public static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new SearchCursor(Float.parseFloat(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.travelquest.utils.search;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Turns free user input into a Postgres {@code to_tsquery} expression.
+ */
+public final class SearchQuery {
+
+    private static final int MAX_TERMS = 8;
+    private static final Pattern APOSTROPHES = Pattern.compile("['\u2019\u02bc]");
+
+    private SearchQuery() {
+    }
+
+    /**
+     * Returns the words of {@code input} as prefix terms joined with AND, e.g.
+     * {@code "old tow"} becomes {@code "old:* & tow:*"}, so partially typed words match.
+     * Apostrophes are removed so {@code "town's"} stays one word ({@code towns:*}); any
+     * other character that is not a letter or digit separates words. {@code null} when
+     * nothing is left.
+     */
+    public static String toPrefixQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+        String query = Arrays.stream(APOSTROPHES.matcher(input.toLowerCase()).replaceAll("").split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
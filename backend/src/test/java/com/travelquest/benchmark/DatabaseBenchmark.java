@@ -0,0 +1,40 @@
+package com.travelquest.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Boots the full application against a throwaway PostGIS container. Skipped when no
+ * Docker daemon is available; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret",
+        "cloudinary.cloud-name=benchmark",
+        "cloudinary.api-key=benchmark",
+        "cloudinary.api-secret=benchmark",
+        "maptiler.api.key=benchmark",
+        "geocoding.mode=local",
+        "likes.reconcile-on-startup=false"
+})
+abstract class DatabaseBenchmark {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+    }
+}
@@ -0,0 +1,110 @@
+package com.travelquest.benchmark;
+
+import com.travelquest.entity.Adventure;
+import com.travelquest.entity.User;
+import com.travelquest.enums.Role;
+import com.travelquest.repositories.AdventureLikeRepository;
+import com.travelquest.repositories.AdventureRepository;
+import com.travelquest.repositories.UserRepository;
+import com.travelquest.services.AdventureService;
+import com.travelquest.services.LikeCountBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many users liking one hot adventure at once, each double-clicking: every user sends
+ * the same like twice concurrently. Reports throughput and checks that no request
+ * failed and the count is exact.
+ */
+class LikeContentionBenchmark extends DatabaseBenchmark {
+
+    private static final int USERS = 500;
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private AdventureService adventureService;
+
+    @Autowired
+    private AdventureRepository adventureRepository;
+
+    @Autowired
+    private AdventureLikeRepository adventureLikeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LikeCountBuffer likeCountBuffer;
+
+    @Test
+    void manyUsersLikeOneAdventure() throws Exception {
+        User owner = userRepository.save(user("owner"));
+        Long adventureId = adventureRepository.save(Adventure.builder()
+                .name("Hot adventure")
+                .latitude(48.8566)
+                .longitude(2.3522)
+                .publicVisibility(true)
+                .user(owner)
+                .build()).getId();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            emails.add(userRepository.save(user("liker" + i)).getEmail());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                run(pool, "like", emails, email -> adventureService.likeAdventure(adventureId, email));
+                assertLikes(adventureId, USERS);
+                run(pool, "unlike", emails, email -> adventureService.unlikeAdventure(adventureId, email));
+                assertLikes(adventureId, 0);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void run(ExecutorService pool, String label, List<String> emails, LikeCall call) throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (String email : emails) {
+            tasks.add(() -> call.apply(email));
+            tasks.add(() -> call.apply(email));
+        }
+        long start = System.nanoTime();
+        for (Future<Object> result : pool.invokeAll(tasks)) {
+            result.get(); // rethrows any failed request
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %d requests, %d threads, %.0f req/s%n", label, tasks.size(), THREADS, tasks.size() / seconds);
+    }
+
+    private void assertLikes(Long adventureId, long expected) {
+        likeCountBuffer.flush();
+        assertEquals(expected, adventureLikeRepository.countByAdventureId(adventureId));
+        assertEquals(expected, adventureRepository.findLikesCountById(adventureId).orElseThrow());
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .name(name)
+                .email(name + "@benchmark.test")
+                .password("x")
+                .role(Role.USER)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface LikeCall {
+        Object apply(String email) throws Exception;
+    }
+}
@@ -0,0 +1,194 @@
+package com.travelquest.benchmark;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.sun.net.httpserver.HttpServer;
+import com.travelquest.services.CloudinaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap cost of one adventure photo upload. The part is disk-backed like Tomcat's
+ * spooled parts above the file-size threshold, and the real Cloudinary SDK posts it as
+ * multipart to a local stub of the upload API, so its request encoding is part of the
+ * measurement. Reports bytes allocated on the uploading thread and peak heap growth
+ * per upload, next to reading the part with {@code getBytes()} as the old upload path did.
+ */
+@Tag("benchmark")
+class UploadHeapBenchmark {
+
+    private static final int FILE_SIZE = 20 * 1024 * 1024;
+    private static final int UPLOADS = 5;
+
+    private static final String UPLOAD_RESPONSE = "{\"public_id\":\"benchmark\","
+            + "\"secure_url\":\"https://example.test/benchmark.jpg\",\"eager\":[]}";
+
+    private Path source;
+    private HttpServer server;
+    private CloudinaryService cloudinaryService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        source = Files.createTempFile("upload-benchmark-", ".jpg");
+        byte[] chunk = new byte[64 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int written = 0; written < FILE_SIZE; written += chunk.length) {
+                out.write(chunk);
+            }
+        }
+
+        // Runs on its own thread, so only the SDK's allocations count against the upload.
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            drain(exchange.getRequestBody());
+            byte[] body = UPLOAD_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        cloudinaryService = new CloudinaryService(new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", "benchmark",
+                "api_key", "key",
+                "api_secret", "secret",
+                "upload_prefix", "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort())));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        Files.deleteIfExists(source);
+    }
+
+    @Test
+    void peakHeapPerUpload() throws IOException {
+        Measurement streamed = measure(() -> cloudinaryService.uploadAdventureImage(spooledPart(), "1", "1"));
+        Measurement buffered = measure(() -> spooledPart().getBytes());
+
+        System.out.printf("streamed upload: %,d bytes allocated, %,d bytes peak heap growth per %,d byte upload%n",
+                streamed.allocated(), streamed.peakGrowth(), FILE_SIZE);
+        System.out.printf("getBytes() only: %,d bytes allocated, %,d bytes peak heap growth per %,d byte upload%n",
+                buffered.allocated(), buffered.peakGrowth(), FILE_SIZE);
+
+        assertTrue(streamed.allocated() < FILE_SIZE / 10,
+                "upload allocated " + streamed.allocated() + " bytes for a " + FILE_SIZE + " byte file");
+    }
+
+    private Measurement measure(Upload upload) throws IOException {
+        upload.run(); // warm up class loading and the JIT
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        long allocated = 0;
+        long peakGrowth = 0;
+        for (int i = 0; i < UPLOADS; i++) {
+            System.gc();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long before = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+
+            upload.run();
+
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            peakGrowth = Math.max(peakGrowth, peak - before);
+        }
+        return new Measurement(allocated / UPLOADS, peakGrowth);
+    }
+
+    /**
+     * A part spooled to disk; like Tomcat's, {@code transferTo} moves the file.
+     */
+    private MultipartFile spooledPart() throws IOException {
+        Path spooled = Files.createTempFile("upload-part-", ".tmp");
+        Files.copy(source, spooled, StandardCopyOption.REPLACE_EXISTING);
+        return new MultipartFile() {
+            @Override
+            public String getName() {
+                return "images";
+            }
+
+            @Override
+            public String getOriginalFilename() {
+                return "photo.jpg";
+            }
+
+            @Override
+            public String getContentType() {
+                return "image/jpeg";
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return false;
+            }
+
+            @Override
+            public long getSize() {
+                return FILE_SIZE;
+            }
+
+            @Override
+            public byte[] getBytes() throws IOException {
+                try {
+                    return Files.readAllBytes(spooled);
+                } finally {
+                    Files.deleteIfExists(spooled);
+                }
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(spooled);
+            }
+
+            @Override
+            public void transferTo(File dest) throws IOException {
+                Files.move(spooled, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        };
+    }
+
+    private static void drain(InputStream request) throws IOException {
+        byte[] buffer = new byte[8 * 1024];
+        try (InputStream in = request) {
+            while (in.read(buffer) != -1) {
+                // the stub only needs the request consumed
+            }
+        }
+    }
+
+    private record Measurement(long allocated, long peakGrowth) {}
+
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,111 @@
+package com.travelquest.services;
+
+import com.travelquest.entity.DashboardStats;
+import com.travelquest.entity.User;
+import com.travelquest.enums.PlaceKind;
+import com.travelquest.repositories.AdventureRepository;
+import com.travelquest.repositories.UserPlaceCountRepository;
+import com.travelquest.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceImplTest {
+
+    private AdventureRepository adventureRepository;
+    private UserRepository userRepository;
+    private UserPlaceCountRepository placeCountRepository;
+    private DashboardServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        adventureRepository = mock(AdventureRepository.class);
+        userRepository = mock(UserRepository.class);
+        placeCountRepository = mock(UserPlaceCountRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        service = new DashboardServiceImpl(adventureRepository, userRepository, placeCountRepository, transactionTemplate);
+    }
+
+    @Test
+    void upgradeZeroesTotalsOfUnresolvedPlacesBeforeTheBackfillCountsThem() {
+        // Totals from the old full recompute; the adventures' places are not resolved yet.
+        User user = User.builder()
+                .id(1L)
+                .dashboardStats(new DashboardStats(2, 2, 1, 1))
+                .build();
+        when(userRepository.findIdsWithUnseededPlaceCounts()).thenReturn(List.of(1L));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(adventureRepository.countByUser(user)).thenReturn(2L);
+
+        service.seedPlaceCounts();
+
+        var order = inOrder(placeCountRepository, userRepository);
+        order.verify(placeCountRepository).deleteByUserId(1L);
+        order.verify(placeCountRepository).rebuildForUser(1L);
+        order.verify(userRepository).save(user);
+        assertEquals(2, user.getDashboardStats().getTotalAdventures());
+        assertEquals(0, user.getDashboardStats().getTotalCities());
+        assertEquals(0, user.getDashboardStats().getTotalRegions());
+        assertEquals(0, user.getDashboardStats().getTotalCountries());
+
+        // The backfill resolves the first adventure: each place is new and counts once.
+        when(placeCountRepository.insertFirst(anyLong(), anyString(), anyString())).thenReturn(1);
+        service.placesChanged(1L, null, null, null, "Paris", "Ile-de-France", "France");
+
+        verify(userRepository).adjustDashboardStats(1L, 0, 1, 1, 1);
+    }
+
+    @Test
+    void seededUsersAreLeftAlone() {
+        when(userRepository.findIdsWithUnseededPlaceCounts()).thenReturn(List.of());
+
+        service.seedPlaceCounts();
+
+        verify(userRepository, never()).findById(anyLong());
+        verify(placeCountRepository, never()).rebuildForUser(anyLong());
+    }
+
+    @Test
+    void knownPlacesOnlyMoveTheirReferenceCount() {
+        when(placeCountRepository.increment(anyLong(), any(PlaceKind.class), anyString())).thenReturn(1);
+        when(placeCountRepository.decrement(anyLong(), any(PlaceKind.class), anyString())).thenReturn(1);
+
+        service.placesChanged(1L, "Lyon", "Auvergne-Rhone-Alpes", "France", "Paris", "Ile-de-France", "France");
+
+        verify(placeCountRepository, never()).insertFirst(anyLong(), anyString(), anyString());
+        verify(userRepository, never()).adjustDashboardStats(anyLong(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void seedingRunsBeforeTheEnrichmentBackfill() throws NoSuchMethodException {
+        Order seed = DashboardServiceImpl.class.getMethod("seedPlaceCounts").getAnnotation(Order.class);
+        Order backfill = AdventureEnrichmentServiceImpl.class.getMethod("enqueueUnresolved").getAnnotation(Order.class);
+
+        assertTrue(seed.value() < (backfill != null ? backfill.value() : Ordered.LOWEST_PRECEDENCE));
+    }
+}
@@ -0,0 +1,222 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.HeatCellDTO;
+import com.travelquest.utils.map.BoundingBox;
+import com.travelquest.utils.map.Geohash;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.travelquest.services.IndexFixtures.adventure;
+import static com.travelquest.services.IndexFixtures.created;
+import static com.travelquest.services.IndexFixtures.deleted;
+import static com.travelquest.services.IndexFixtures.liked;
+import static com.travelquest.services.IndexFixtures.unliked;
+import static com.travelquest.services.IndexFixtures.updated;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class HeatmapIndexTest {
+
+    private static final BoundingBox WORLD = new BoundingBox(-180, -90, 180, 90);
+    private static final int MAX_PRECISION = 6;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final IndexFixtures fixtures = new IndexFixtures();
+
+    private static void put(HeatmapIndex index, long id, double latitude, double longitude, double rating, long likes) {
+        index.onAdventureChanged(created(adventure(id).latitude(latitude).longitude(longitude)
+                .rating(rating).likesCount(likes)));
+    }
+
+    @Test
+    void cellsAggregateCountRatingAndLikes() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 1, 48.8566, 2.3522, 4, 10);
+        put(index, 2, 48.8606, 2.3376, 2, 5);
+        put(index, 3, -33.8688, 151.2093, 5, 1);
+
+        List<HeatCellDTO> cells = index.cells(WORLD, 2);
+
+        assertEquals(2, cells.size());
+        HeatCellDTO paris = cells.get(0);
+        assertEquals("u0", paris.getGeohash());
+        assertEquals(2, paris.getCount());
+        assertEquals(3.0, paris.getAverageRating(), 1e-9);
+        assertEquals(15, paris.getTotalLikes());
+        assertEquals(Geohash.centerLatitude(Geohash.encode(48.8566, 2.3522, 2), 2), paris.getLatitude(), 1e-9);
+        assertEquals(1, cells.get(1).getCount());
+    }
+
+    @Test
+    void finerPrecisionsSplitNearbyAdventures() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 1, 48.8566, 2.3522, 4, 0);
+        put(index, 2, 48.8606, 2.3376, 2, 0);
+
+        assertEquals(1, index.cells(WORLD, 4).size());
+        List<HeatCellDTO> fine = index.cells(new BoundingBox(2.3, 48.8, 2.4, 48.9), MAX_PRECISION);
+        assertEquals(2, fine.size());
+        assertTrue(fine.stream().allMatch(c -> c.getGeohash().length() == MAX_PRECISION && c.getCount() == 1));
+    }
+
+    @Test
+    void moveShiftsTheAdventureAndKeepsItsLikes() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 1, 48.8566, 2.3522, 4, 10);
+        index.onAdventureLiked(liked(1, 1, NOW));
+
+        index.onAdventureChanged(updated(adventure(1).latitude(-33.8688).longitude(151.2093).rating(3)));
+
+        List<HeatCellDTO> cells = index.cells(WORLD, 1);
+        assertEquals(1, cells.size());
+        assertEquals("r", cells.get(0).getGeohash());
+        assertEquals(3.0, cells.get(0).getAverageRating(), 1e-9);
+        assertEquals(11, cells.get(0).getTotalLikes());
+    }
+
+    @Test
+    void likesAdjustEveryPrecision() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 1, 48.8566, 2.3522, 4, 2);
+
+        index.onAdventureLiked(liked(1, 1, NOW));
+        index.onAdventureLiked(liked(1, 2, NOW));
+        index.onAdventureLiked(unliked(1, 1, NOW));
+        index.onAdventureLiked(liked(99, 1, NOW));
+
+        for (int p = 1; p <= MAX_PRECISION; p++) {
+            List<HeatCellDTO> cells = index.cells(WORLD, p);
+            assertEquals(1, cells.size());
+            assertEquals(3, cells.get(0).getTotalLikes());
+        }
+    }
+
+    @Test
+    void removingReleasesEmptyCellsForReuse() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 1, 48.8566, 2.3522, 4, 10);
+        put(index, 2, 48.8606, 2.3376, 2, 5);
+
+        index.onAdventureChanged(deleted(2));
+        HeatCellDTO remaining = index.cells(WORLD, 3).get(0);
+        assertEquals(1, remaining.getCount());
+        assertEquals(4.0, remaining.getAverageRating(), 1e-9);
+        assertEquals(10, remaining.getTotalLikes());
+
+        index.onAdventureChanged(updated(adventure(1).latitude(48.8566).longitude(2.3522).rating(4).likesCount(10)
+                .publicVisibility(false)));
+        for (int p = 1; p <= MAX_PRECISION; p++) {
+            assertTrue(index.cells(WORLD, p).isEmpty());
+        }
+
+        put(index, 3, -33.8688, 151.2093, 5, 1);
+        List<HeatCellDTO> cells = index.cells(WORLD, MAX_PRECISION);
+        assertEquals(1, cells.size());
+        assertEquals(1, cells.get(0).getCount());
+        assertEquals(5.0, cells.get(0).getAverageRating(), 1e-9);
+        assertEquals(1, cells.get(0).getTotalLikes());
+    }
+
+    @Test
+    void growsPastTheInitialSlotCapacity() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        for (int i = 0; i < 200; i++) {
+            put(index, i, -60 + i * 0.6, -170 + i * 1.7, 1, 1);
+        }
+
+        List<HeatCellDTO> cells = index.cells(WORLD, MAX_PRECISION);
+        assertEquals(200, cells.size());
+        assertEquals(200, cells.stream().mapToLong(HeatCellDTO::getTotalLikes).sum());
+    }
+
+    @Test
+    void boxesAcrossTheAntimeridianCoverBothSides() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 1, -17.7134, 178.0650, 4, 0);
+        put(index, 2, -13.7590, -172.1046, 4, 0);
+        put(index, 3, 48.8566, 2.3522, 4, 0);
+
+        assertEquals(2, index.cells(new BoundingBox(170, -30, -170, 0), 4).size());
+    }
+
+    @Test
+    void resultsAreCappedDensestFirst() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 1);
+        put(index, 1, -33.8688, 151.2093, 5, 0);
+        put(index, 2, 48.8566, 2.3522, 4, 0);
+        put(index, 3, 48.8606, 2.3376, 2, 0);
+
+        List<HeatCellDTO> cells = index.cells(WORLD, 1);
+        assertEquals(1, cells.size());
+        assertEquals(2, cells.get(0).getCount());
+    }
+
+    @Test
+    void rebuildReplacesTheGridsWithTheDatabaseRows() {
+        when(fixtures.adventureRepository.findPublicHeatmapRows()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 48.8566, 2.3522, 4.0, 7L}));
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        put(index, 9, -33.8688, 151.2093, 5, 1);
+
+        index.rebuild();
+
+        List<HeatCellDTO> cells = index.cells(WORLD, 1);
+        assertEquals(1, cells.size());
+        assertEquals("u", cells.get(0).getGeohash());
+        assertEquals(7, cells.get(0).getTotalLikes());
+    }
+
+    @Test
+    void likeInTheRebuildSnapshotIsNotReplayedTwice() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        // User 7's like commits and its event arrives while the snapshot is read.
+        when(fixtures.adventureRepository.findPublicHeatmapRows()).thenAnswer(invocation -> {
+            index.onAdventureLiked(liked(1, 7, NOW));
+            return List.<Object[]>of(new Object[]{1L, 48.8566, 2.3522, 4.0, 3L});
+        });
+        when(fixtures.adventureLikeRepository.findLikesAmong(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 7L}));
+
+        index.rebuild();
+
+        for (int p = 1; p <= MAX_PRECISION; p++) {
+            assertEquals(3, index.cells(WORLD, p).get(0).getTotalLikes());
+        }
+    }
+
+    @Test
+    void likeMissingFromTheRebuildSnapshotIsReplayed() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        // User 7's event arrives during the rebuild, but its commit is after the snapshot.
+        when(fixtures.adventureRepository.findPublicHeatmapRows()).thenAnswer(invocation -> {
+            index.onAdventureLiked(liked(1, 7, NOW));
+            return List.<Object[]>of(new Object[]{1L, 48.8566, 2.3522, 4.0, 2L});
+        });
+        when(fixtures.adventureLikeRepository.findLikesAmong(any(), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(3, index.cells(WORLD, 1).get(0).getTotalLikes());
+    }
+
+    @Test
+    void unlikeDuringTheRebuildOnlyCountsIfTheSnapshotHadTheLike() {
+        HeatmapIndex index = fixtures.heatmapIndex(MAX_PRECISION, 2000);
+        when(fixtures.adventureRepository.findPublicHeatmapRows()).thenAnswer(invocation -> {
+            index.onAdventureLiked(unliked(1, 7, NOW));
+            index.onAdventureLiked(unliked(1, 8, NOW));
+            return List.<Object[]>of(new Object[]{1L, 48.8566, 2.3522, 4.0, 2L});
+        });
+        // Only user 8's like was still there when the snapshot was taken.
+        when(fixtures.adventureLikeRepository.findLikesAmong(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 8L}));
+
+        index.rebuild();
+
+        assertEquals(1, index.cells(WORLD, 1).get(0).getTotalLikes());
+    }
+}
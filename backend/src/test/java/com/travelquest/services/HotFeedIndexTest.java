@@ -0,0 +1,198 @@
+package com.travelquest.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.travelquest.services.IndexFixtures.adventure;
+import static com.travelquest.services.IndexFixtures.created;
+import static com.travelquest.services.IndexFixtures.deleted;
+import static com.travelquest.services.IndexFixtures.liked;
+import static com.travelquest.services.IndexFixtures.unliked;
+import static com.travelquest.services.IndexFixtures.updated;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class HotFeedIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private final IndexFixtures fixtures = new IndexFixtures();
+
+    @Test
+    void newerAdventuresRankFirst() {
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        index.onAdventureChanged(created(adventure(1).createdAt(NOW.minusHours(2))));
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW.minusHours(1))));
+        index.onAdventureChanged(created(adventure(3).createdAt(NOW)));
+
+        assertEquals(List.of(3L, 2L, 1L), index.top(0, 10));
+        assertEquals(List.of(2L), index.top(1, 1));
+    }
+
+    @Test
+    void likesDecayWithTheHalfLife() {
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        // Two half-lives old: the creation is worth 3 / 4 likes today.
+        index.onAdventureChanged(created(adventure(1).createdAt(NOW.minusHours(48))));
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW)));
+
+        for (int user = 1; user <= 3; user++) {
+            index.onAdventureLiked(liked(1, user, NOW));
+        }
+        assertEquals(List.of(1L, 2L), index.top(0, 10));
+
+        index.onAdventureLiked(unliked(1, 1, NOW));
+        index.onAdventureLiked(unliked(1, 2, NOW));
+        assertEquals(List.of(2L, 1L), index.top(0, 10));
+    }
+
+    @Test
+    void unlikeNeverDropsBelowTheCreationScore() {
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        index.onAdventureChanged(created(adventure(1).createdAt(NOW.minusHours(1))));
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW.minusHours(2))));
+
+        index.onAdventureLiked(unliked(1, 1, NOW));
+        index.onAdventureLiked(unliked(1, 2, NOW));
+
+        assertEquals(List.of(1L, 2L), index.top(0, 10));
+    }
+
+    @Test
+    void servesOnlyTheTopCapacityAndRefillsOnRemoval() {
+        HotFeedIndex index = fixtures.hotFeedIndex(2);
+        index.onAdventureChanged(created(adventure(1).createdAt(NOW.minusHours(2))));
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW.minusHours(1))));
+        index.onAdventureChanged(created(adventure(3).createdAt(NOW)));
+        assertEquals(List.of(3L, 2L), index.top(0, 10));
+
+        index.onAdventureChanged(deleted(3));
+        assertEquals(List.of(2L, 1L), index.top(0, 10));
+
+        index.onAdventureChanged(updated(adventure(2).createdAt(NOW.minusHours(1)).publicVisibility(false)));
+        assertEquals(List.of(1L), index.top(0, 10));
+    }
+
+    @Test
+    void unlikeRefillsFromOutsideTheTop() {
+        HotFeedIndex index = fixtures.hotFeedIndex(1);
+        index.onAdventureChanged(created(adventure(1).createdAt(NOW.minusHours(24))));
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW)));
+        index.onAdventureLiked(liked(1, 1, NOW));
+        index.onAdventureLiked(liked(1, 2, NOW));
+        assertEquals(List.of(1L), index.top(0, 10));
+
+        index.onAdventureLiked(unliked(1, 1, NOW));
+        index.onAdventureLiked(unliked(1, 2, NOW));
+        assertEquals(List.of(2L), index.top(0, 10));
+    }
+
+    @Test
+    void likesOnUnrankedAdventuresPromoteThem() {
+        HotFeedIndex index = fixtures.hotFeedIndex(1);
+        index.onAdventureChanged(created(adventure(1).createdAt(NOW)));
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW.minusHours(1))));
+        assertEquals(List.of(1L), index.top(0, 10));
+
+        index.onAdventureLiked(liked(2, 1, NOW));
+        assertEquals(List.of(2L), index.top(0, 10));
+    }
+
+    @Test
+    void madePublicLoadsExistingLikesOnce() {
+        when(fixtures.adventureLikeRepository.findLikeTimesSince(eq(1L), any())).thenReturn(List.of(NOW, NOW, NOW));
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        index.onAdventureChanged(created(adventure(2).createdAt(NOW)));
+        index.onAdventureChanged(updated(adventure(1).createdAt(NOW.minusHours(48))));
+        assertEquals(List.of(1L, 2L), index.top(0, 10));
+
+        // Already indexed: a later update must not count the likes again.
+        index.onAdventureChanged(updated(adventure(1).createdAt(NOW.minusHours(48))));
+        index.onAdventureLiked(unliked(1, 1, NOW));
+        index.onAdventureLiked(unliked(1, 2, NOW));
+        assertEquals(List.of(2L, 1L), index.top(0, 10));
+    }
+
+    @Test
+    void rebuildScoresFromTheDatabase() {
+        when(fixtures.adventureRepository.findPublicIdsAndCreatedAt()).thenReturn(List.of(
+                new Object[]{1L, NOW.minusHours(48)},
+                new Object[]{2L, NOW},
+                new Object[]{3L, NOW.minusHours(1)}));
+        when(fixtures.adventureLikeRepository.findPublicLikeTimesSince(any())).thenReturn(List.of(
+                new Object[]{1L, NOW},
+                new Object[]{1L, NOW},
+                new Object[]{1L, NOW},
+                new Object[]{4L, NOW}));
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        index.onAdventureChanged(created(adventure(9).createdAt(NOW.minusHours(72))));
+
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L, 3L), index.top(0, 10));
+    }
+
+    @Test
+    void likeInTheRebuildSnapshotIsNotReplayedTwice() {
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        when(fixtures.adventureRepository.findPublicIdsAndCreatedAt()).thenReturn(List.of(
+                new Object[]{1L, NOW.minusHours(48)},
+                new Object[]{2L, NOW}));
+        // User 7's like commits and its event arrives while the snapshot is read.
+        when(fixtures.adventureLikeRepository.findPublicLikeTimesSince(any())).thenAnswer(invocation -> {
+            index.onAdventureLiked(liked(1, 7, NOW));
+            return List.of(new Object[]{1L, NOW}, new Object[]{1L, NOW}, new Object[]{1L, NOW});
+        });
+        when(fixtures.adventureLikeRepository.findLikesAmong(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 7L}));
+
+        index.rebuild();
+        assertEquals(List.of(1L, 2L), index.top(0, 10));
+
+        // Counted once, one unlike drops it below the newer adventure.
+        index.onAdventureLiked(unliked(1, 5, NOW));
+        assertEquals(List.of(2L, 1L), index.top(0, 10));
+    }
+
+    @Test
+    void likeMissingFromTheRebuildSnapshotIsReplayed() {
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        when(fixtures.adventureRepository.findPublicIdsAndCreatedAt()).thenReturn(List.of(
+                new Object[]{1L, NOW.minusHours(48)},
+                new Object[]{2L, NOW}));
+        // User 7's event arrives during the rebuild, but its commit is after the snapshot.
+        when(fixtures.adventureLikeRepository.findPublicLikeTimesSince(any())).thenAnswer(invocation -> {
+            index.onAdventureLiked(liked(1, 7, NOW));
+            return List.of(new Object[]{1L, NOW}, new Object[]{1L, NOW});
+        });
+        when(fixtures.adventureLikeRepository.findLikesAmong(any(), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L), index.top(0, 10));
+    }
+
+    @Test
+    void unlikeOfALikeTheSnapshotNeverSawIsSkipped() {
+        HotFeedIndex index = fixtures.hotFeedIndex(10);
+        when(fixtures.adventureRepository.findPublicIdsAndCreatedAt()).thenReturn(List.of(
+                new Object[]{1L, NOW.minusHours(48)},
+                new Object[]{2L, NOW}));
+        // User 7 liked and unliked before the snapshot; both events arrive during the rebuild.
+        when(fixtures.adventureLikeRepository.findPublicLikeTimesSince(any())).thenAnswer(invocation -> {
+            index.onAdventureLiked(liked(1, 7, NOW));
+            index.onAdventureLiked(unliked(1, 7, NOW));
+            return List.of(new Object[]{1L, NOW}, new Object[]{1L, NOW}, new Object[]{1L, NOW});
+        });
+        when(fixtures.adventureLikeRepository.findLikesAmong(any(), any())).thenReturn(List.of());
+
+        index.rebuild();
+        index.onAdventureLiked(unliked(1, 5, NOW));
+
+        assertEquals(List.of(2L, 1L), index.top(0, 10));
+    }
+}
@@ -0,0 +1,93 @@
+package com.travelquest.services;
+
+import com.travelquest.entity.Adventure;
+import com.travelquest.enums.ChangeType;
+import com.travelquest.events.AdventureChangedEvent;
+import com.travelquest.events.AdventureLikedEvent;
+import com.travelquest.repositories.AdventureLikeRepository;
+import com.travelquest.repositories.AdventureRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * The in-memory indexes over mocked repositories, with their {@code @Value} settings
+ * injected and {@code init()} run as Spring would, plus the events they consume.
+ */
+final class IndexFixtures {
+
+    final AdventureRepository adventureRepository = mock(AdventureRepository.class);
+    final AdventureLikeRepository adventureLikeRepository = mock(AdventureLikeRepository.class);
+    final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    HotFeedIndex hotFeedIndex(int capacity) {
+        HotFeedIndex index = new HotFeedIndex(adventureRepository, adventureLikeRepository, transactionManager);
+        inject(index, "capacity", capacity);
+        inject(index, "halfLifeHours", 24.0);
+        inject(index, "creationWeight", 3.0);
+        inject(index, "rebuildHalfLives", 30);
+        index.init();
+        return index;
+    }
+
+    MapClusterIndex mapClusterIndex(int maxZoom, int maxResults) {
+        MapClusterIndex index = new MapClusterIndex(adventureRepository);
+        inject(index, "maxZoom", maxZoom);
+        inject(index, "radiusPx", 64);
+        inject(index, "maxResults", maxResults);
+        index.init();
+        return index;
+    }
+
+    HeatmapIndex heatmapIndex(int maxPrecision, int maxResults) {
+        HeatmapIndex index = new HeatmapIndex(adventureRepository, adventureLikeRepository, transactionManager);
+        inject(index, "maxPrecision", maxPrecision);
+        inject(index, "maxResults", maxResults);
+        index.init();
+        return index;
+    }
+
+    TagServiceImpl tagService() {
+        return new TagServiceImpl(adventureRepository);
+    }
+
+    /**
+     * A public adventure created now, at (0, 0), without tags.
+     */
+    static Adventure.AdventureBuilder adventure(long id) {
+        return Adventure.builder()
+                .id(id)
+                .publicVisibility(true)
+                .createdAt(LocalDateTime.now())
+                .tags(List.of());
+    }
+
+    static AdventureChangedEvent created(Adventure.AdventureBuilder adventure) {
+        return AdventureChangedEvent.of(ChangeType.CREATED, adventure.build());
+    }
+
+    static AdventureChangedEvent updated(Adventure.AdventureBuilder adventure) {
+        return AdventureChangedEvent.of(ChangeType.UPDATED, adventure.build());
+    }
+
+    static AdventureChangedEvent deleted(long id) {
+        return AdventureChangedEvent.of(ChangeType.DELETED, adventure(id).build());
+    }
+
+    static AdventureLikedEvent liked(long id, long userId, LocalDateTime likedAt) {
+        return new AdventureLikedEvent(id, userId, likedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), true);
+    }
+
+    static AdventureLikedEvent unliked(long id, long userId, LocalDateTime likedAt) {
+        return new AdventureLikedEvent(id, userId, likedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), false);
+    }
+
+    private static void inject(Object index, String field, Object value) {
+        ReflectionTestUtils.setField(index, field, value);
+    }
+}
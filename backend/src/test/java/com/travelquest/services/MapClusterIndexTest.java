@@ -0,0 +1,147 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.ClusterDTO;
+import com.travelquest.utils.map.BoundingBox;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.travelquest.services.IndexFixtures.adventure;
+import static com.travelquest.services.IndexFixtures.created;
+import static com.travelquest.services.IndexFixtures.deleted;
+import static com.travelquest.services.IndexFixtures.updated;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class MapClusterIndexTest {
+
+    private static final BoundingBox WORLD = new BoundingBox(-180, -85, 180, 85);
+    private static final BoundingBox EUROPE = new BoundingBox(-10, 35, 30, 60);
+    private static final int MAX_ZOOM = 16;
+
+    private final IndexFixtures fixtures = new IndexFixtures();
+
+    private static void put(MapClusterIndex index, long id, double latitude, double longitude) {
+        index.onAdventureChanged(created(adventure(id).latitude(latitude).longitude(longitude)));
+    }
+
+    @Test
+    void nearbyAdventuresShareACellAtLowZoom() {
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 500);
+        put(index, 1, 48.8566, 2.3522);
+        put(index, 2, 48.8606, 2.3376);
+        put(index, 3, -33.8688, 151.2093);
+
+        List<ClusterDTO> clusters = index.clusters(WORLD, 0);
+
+        assertEquals(2, clusters.size());
+        assertEquals(2, clusters.get(0).getCount());
+        assertNull(clusters.get(0).getAdventureId());
+        assertEquals(48.8586, clusters.get(0).getLatitude(), 1e-3);
+        assertEquals(2.3449, clusters.get(0).getLongitude(), 1e-3);
+        assertEquals(1, clusters.get(1).getCount());
+        assertEquals(3L, clusters.get(1).getAdventureId());
+    }
+
+    @Test
+    void singleMemberCellsYieldTheExactPositionAndId() {
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 500);
+        put(index, 1, 48.8566, 2.3522);
+        put(index, 2, 48.8606, 2.3376);
+
+        List<ClusterDTO> clusters = index.clusters(EUROPE, MAX_ZOOM);
+
+        assertEquals(2, clusters.size());
+        for (ClusterDTO cluster : clusters) {
+            assertEquals(1, cluster.getCount());
+            double latitude = cluster.getAdventureId() == 1L ? 48.8566 : 48.8606;
+            double longitude = cluster.getAdventureId() == 1L ? 2.3522 : 2.3376;
+            assertEquals(latitude, cluster.getLatitude(), 1e-9);
+            assertEquals(longitude, cluster.getLongitude(), 1e-9);
+        }
+    }
+
+    @Test
+    void movingUpdatesCountsAndSumsOnEveryLevel() {
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 500);
+        put(index, 1, 48.8566, 2.3522);
+        put(index, 2, 48.8606, 2.3376);
+
+        index.onAdventureChanged(updated(adventure(2).latitude(45.7640).longitude(4.8357)));
+
+        List<ClusterDTO> coarse = index.clusters(WORLD, 0);
+        assertEquals(1, coarse.size());
+        assertEquals(2, coarse.get(0).getCount());
+        assertEquals(3.5940, coarse.get(0).getLongitude(), 1e-3);
+
+        List<ClusterDTO> fine = index.clusters(new BoundingBox(2.3, 48.8, 2.4, 48.9), MAX_ZOOM);
+        assertEquals(1, fine.size());
+        assertEquals(1L, fine.get(0).getAdventureId());
+        assertEquals(48.8566, fine.get(0).getLatitude(), 1e-9);
+    }
+
+    @Test
+    void removingRestoresTheRemainingMember() {
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 500);
+        put(index, 1, 48.8566, 2.3522);
+        put(index, 2, 48.8606, 2.3376);
+        put(index, 3, 48.8530, 2.3499);
+
+        index.onAdventureChanged(deleted(2));
+        index.onAdventureChanged(updated(adventure(3).latitude(48.8530).longitude(2.3499).publicVisibility(false)));
+
+        List<ClusterDTO> clusters = index.clusters(WORLD, 0);
+        assertEquals(1, clusters.size());
+        assertEquals(1, clusters.get(0).getCount());
+        assertEquals(1L, clusters.get(0).getAdventureId());
+        assertEquals(2.3522, clusters.get(0).getLongitude(), 1e-9);
+
+        index.onAdventureChanged(deleted(1));
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            assertTrue(index.clusters(WORLD, z).isEmpty());
+        }
+    }
+
+    @Test
+    void boxesAcrossTheAntimeridianCoverBothSides() {
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 500);
+        put(index, 1, -17.7134, 178.0650);
+        put(index, 2, -13.7590, -172.1046);
+        put(index, 3, 48.8566, 2.3522);
+
+        List<ClusterDTO> clusters = index.clusters(new BoundingBox(170, -30, -170, 0), 6);
+
+        assertEquals(2, clusters.size());
+        assertEquals(List.of(1L, 2L), clusters.stream().map(ClusterDTO::getAdventureId).sorted().toList());
+    }
+
+    @Test
+    void resultsAreCappedLargestFirst() {
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 1);
+        put(index, 1, -33.8688, 151.2093);
+        put(index, 2, 48.8566, 2.3522);
+        put(index, 3, 48.8606, 2.3376);
+
+        List<ClusterDTO> clusters = index.clusters(WORLD, 0);
+
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).getCount());
+    }
+
+    @Test
+    void rebuildReplacesTheLevelsWithTheDatabaseRows() {
+        when(fixtures.adventureRepository.findPublicPositions()).thenReturn(List.of(
+                new Object[]{1L, 48.8566, 2.3522},
+                new Object[]{2L, 48.8606, 2.3376}));
+        MapClusterIndex index = fixtures.mapClusterIndex(MAX_ZOOM, 500);
+        put(index, 9, -33.8688, 151.2093);
+
+        index.rebuild();
+
+        List<ClusterDTO> clusters = index.clusters(WORLD, 0);
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).getCount());
+    }
+}
@@ -0,0 +1,141 @@
+package com.travelquest.services;
+
+import com.travelquest.dto.TagCountDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.travelquest.services.IndexFixtures.adventure;
+import static com.travelquest.services.IndexFixtures.created;
+import static com.travelquest.services.IndexFixtures.deleted;
+import static com.travelquest.services.IndexFixtures.updated;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class TagServiceImplTest {
+
+    private final IndexFixtures fixtures = new IndexFixtures();
+    private final TagServiceImpl service = fixtures.tagService();
+
+    private void put(long id, String... tags) {
+        service.onAdventureChanged(created(adventure(id).tags(List.of(tags))));
+    }
+
+    private static List<String> tags(List<TagCountDTO> counts) {
+        return counts.stream().map(TagCountDTO::getTag).toList();
+    }
+
+    @Test
+    void normalizeTrimsLowercasesAndCollapsesSpaces() {
+        assertEquals("old town", TagServiceImpl.normalize("  Old \t Town "));
+        assertNull(TagServiceImpl.normalize("   "));
+        assertNull(TagServiceImpl.normalize(null));
+    }
+
+    @Test
+    void suggestsByPrefixMostUsedFirst() {
+        put(1, "hiking", "history");
+        put(2, "hiking", "hike");
+        put(3, "hiking", "beach");
+        put(4, "history");
+
+        List<TagCountDTO> suggestions = service.suggest(" HI", 10);
+
+        assertEquals(List.of("hiking", "history", "hike"), tags(suggestions));
+        assertEquals(3, suggestions.get(0).getCount());
+        assertEquals(2, suggestions.get(1).getCount());
+        assertEquals(List.of("hiking"), tags(service.suggest("hi", 1)));
+    }
+
+    @Test
+    void prefixesMayEndInsideAnEdge() {
+        put(1, "hiking", "hike", "history");
+
+        assertEquals(List.of("hike", "hiking"), tags(service.suggest("hik", 10)));
+        assertEquals(List.of("hiking"), tags(service.suggest("hiki", 10)));
+        assertTrue(service.suggest("hix", 10).isEmpty());
+        assertTrue(service.suggest("hikings", 10).isEmpty());
+        assertTrue(service.suggest("", 10).isEmpty());
+    }
+
+    @Test
+    void removedTagsArePrunedAndSplitEdgesMerged() {
+        put(1, "hiking", "hike", "history");
+
+        service.onAdventureChanged(updated(adventure(1).tags(List.of("hiking", "history"))));
+        assertEquals(List.of("hiking"), tags(service.suggest("hik", 10)));
+        assertEquals(List.of("hiking", "history"), tags(service.suggest("h", 10)));
+
+        service.onAdventureChanged(deleted(1));
+        assertTrue(service.suggest("h", 10).isEmpty());
+
+        put(2, "hike");
+        assertEquals(List.of("hike"), tags(service.suggest("hi", 10)));
+    }
+
+    @Test
+    void matchAllIntersectsPostingsNewestFirst() {
+        put(5, "beach", "city");
+        put(1, "beach", "city", "food");
+        put(9, "beach", "city");
+        put(3, "beach");
+
+        assertEquals(List.of(9L, 5L, 1L), service.findAdventureIds(List.of("beach", "City"), true, 10));
+        assertEquals(List.of(9L, 5L), service.findAdventureIds(List.of("beach", "city"), true, 2));
+        assertEquals(List.of(1L), service.findAdventureIds(List.of("beach", "city", "food"), true, 10));
+        assertTrue(service.findAdventureIds(List.of("beach", "unknown"), true, 10).isEmpty());
+    }
+
+    @Test
+    void matchAnyUnitesPostingsWithoutDuplicates() {
+        put(5, "beach", "city");
+        put(1, "food");
+        put(9, "city");
+        put(3, "museum");
+
+        assertEquals(List.of(9L, 5L, 1L), service.findAdventureIds(List.of("beach", "city", "food", "unknown"), false, 10));
+        assertTrue(service.findAdventureIds(List.of(), false, 10).isEmpty());
+    }
+
+    @Test
+    void privateAdventuresLeaveThePostings() {
+        put(1, "beach");
+        put(2, "beach");
+
+        service.onAdventureChanged(updated(adventure(2).tags(List.of("beach")).publicVisibility(false)));
+
+        assertEquals(List.of(1L), service.findAdventureIds(List.of("beach"), true, 10));
+        assertEquals(1, service.suggest("beach", 10).get(0).getCount());
+    }
+
+    @Test
+    void facetsCountCoOccurringTags() {
+        put(1, "beach", "food", "sunset");
+        put(2, "beach", "food");
+        put(3, "beach", "surf");
+        put(4, "food", "city");
+
+        List<TagCountDTO> facets = service.facets(List.of("beach"), true, 10);
+
+        assertEquals(List.of("food", "sunset", "surf"), tags(facets));
+        assertEquals(2, facets.get(0).getCount());
+    }
+
+    @Test
+    void rebuildReplacesTheIndexWithTheDatabaseRows() {
+        when(fixtures.adventureRepository.findPublicTags()).thenReturn(List.of(
+                new Object[]{1L, "Beach"},
+                new Object[]{1L, " food "},
+                new Object[]{2L, "beach"},
+                new Object[]{3L, "  "}));
+        put(9, "museum");
+
+        service.rebuild();
+
+        assertTrue(service.suggest("mu", 10).isEmpty());
+        assertEquals(List.of(2L, 1L), service.findAdventureIds(List.of("beach"), true, 10));
+        assertEquals(List.of(1L), service.findAdventureIds(List.of("beach", "food"), true, 10));
+    }
+}
@@ -0,0 +1,75 @@
+package com.travelquest.utils.map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedBelowTheFailureThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 60_000);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 60_000);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 60_000);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void letsOneTrialCallThroughAfterTheOpenPeriod() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.onFailure();
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    void successfulTrialCloses() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedTrialReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(5, 200);
+        for (int i = 0; i < 5; i++) {
+            breaker.onFailure();
+        }
+        Thread.sleep(250);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+    }
+}
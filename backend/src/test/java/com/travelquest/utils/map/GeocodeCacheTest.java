@@ -0,0 +1,113 @@
+package com.travelquest.utils.map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GeocodeCacheTest {
+
+    private static final Map<String, String> PARIS = Map.of("city", "Paris", "country", "France");
+    private static final Map<String, String> LYON = Map.of("city", "Lyon", "country", "France");
+    private static final Map<String, String> NICE = Map.of("city", "Nice", "country", "France");
+
+    @TempDir
+    Path dir;
+
+    private GeocodeCache cache(int maxEntries, String snapshotPath) {
+        GeocodeCache cache = new GeocodeCache(new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "precision", 3);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(cache, "ttlHours", 24L);
+        ReflectionTestUtils.setField(cache, "snapshotPath", snapshotPath);
+        cache.init();
+        return cache;
+    }
+
+    @Test
+    void keysRoundToThePrecision() {
+        GeocodeCache cache = cache(10, "");
+        assertEquals(cache.key(48.85641, 2.35222), cache.key(48.85559, 2.35179));
+        assertNotEquals(cache.key(48.8566, 2.3522), cache.key(48.8576, 2.3522));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        GeocodeCache cache = cache(2, "");
+        cache.put("paris", PARIS);
+        cache.put("lyon", LYON);
+        cache.get("paris");
+        cache.put("nice", NICE);
+
+        assertEquals(PARIS, cache.get("paris"));
+        assertNull(cache.get("lyon"));
+        assertEquals(NICE, cache.get("nice"));
+        assertEquals(new GeocodeCache.Stats(2, 3, 1, 1), cache.stats());
+    }
+
+    @Test
+    void expiresEntriesAfterTheTtl() {
+        GeocodeCache cache = cache(10, "");
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        cache.clock = Clock.fixed(start, ZoneOffset.UTC);
+        cache.put("paris", PARIS);
+
+        cache.clock = Clock.fixed(start.plus(Duration.ofHours(23)), ZoneOffset.UTC);
+        assertEquals(PARIS, cache.get("paris"));
+
+        cache.clock = Clock.fixed(start.plus(Duration.ofHours(25)), ZoneOffset.UTC);
+        assertNull(cache.get("paris"));
+        assertEquals(new GeocodeCache.Stats(0, 1, 1, 1), cache.stats());
+    }
+
+    @Test
+    void returnsCopiesOfCachedValues() {
+        GeocodeCache cache = cache(10, "");
+        cache.put("paris", PARIS);
+        cache.get("paris").put("city", "Changed");
+        assertEquals(PARIS, cache.get("paris"));
+    }
+
+    @Test
+    void snapshotRoundTrips() {
+        String path = dir.resolve("cache/geocode.json").toString();
+        GeocodeCache cache = cache(10, path);
+        cache.put("paris", PARIS);
+        cache.put("lyon", LYON);
+        cache.snapshot();
+
+        GeocodeCache restarted = cache(10, path);
+        assertEquals(PARIS, restarted.get("paris"));
+        assertEquals(LYON, restarted.get("lyon"));
+        assertEquals(2, restarted.stats().size());
+    }
+
+    @Test
+    void publishesMeters() {
+        GeocodeCache cache = cache(1, "");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.put("paris", PARIS);
+        cache.get("paris");
+        cache.get("lyon");
+        cache.put("lyon", LYON);
+
+        assertEquals(1, registry.get("geocode.cache.size").gauge().value());
+        assertEquals(1, registry.get("geocode.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("geocode.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("geocode.cache.evictions").functionCounter().count());
+    }
+}
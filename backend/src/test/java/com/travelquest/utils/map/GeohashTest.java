@@ -0,0 +1,64 @@
+package com.travelquest.utils.map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeohashTest {
+
+    @Test
+    void encodesToTheStandardBase32Hash() {
+        assertEquals("ezs42", Geohash.toBase32(Geohash.encode(42.6, -5.6, 5), 5));
+        assertEquals("u4pruy", Geohash.toBase32(Geohash.encode(57.64911, 10.40744, 6), 6));
+    }
+
+    @Test
+    void bitsAreSplitLongitudeFirst() {
+        assertEquals(3, Geohash.lonBits(1));
+        assertEquals(2, Geohash.latBits(1));
+        assertEquals(15, Geohash.lonBits(6));
+        assertEquals(15, Geohash.latBits(6));
+    }
+
+    @Test
+    void deinterleaveInvertsInterleave() {
+        for (int precision = 1; precision <= 8; precision++) {
+            long columns = 1L << Geohash.lonBits(precision);
+            long rows = 1L << Geohash.latBits(precision);
+            long column = columns * 2 / 3;
+            long row = rows / 3;
+            long hash = Geohash.interleave(column, row, precision);
+            assertEquals(column, Geohash.columnOf(hash, precision));
+            assertEquals(row, Geohash.rowOf(hash, precision));
+        }
+    }
+
+    @Test
+    void truncateGivesTheEnclosingCell() {
+        long fine = Geohash.encode(57.64911, 10.40744, 6);
+        long coarse = Geohash.truncate(fine, 6, 3);
+
+        assertEquals(Geohash.encode(57.64911, 10.40744, 3), coarse);
+        assertEquals("u4p", Geohash.toBase32(coarse, 3));
+    }
+
+    @Test
+    void centersLieInsideTheirCell() {
+        long hash = Geohash.encode(48.8566, 2.3522, 6);
+        double latitude = Geohash.centerLatitude(hash, 6);
+        double longitude = Geohash.centerLongitude(hash, 6);
+
+        assertEquals(hash, Geohash.encode(latitude, longitude, 6));
+        assertTrue(Math.abs(latitude - 48.8566) < 180.0 / (1L << Geohash.latBits(6)));
+        assertTrue(Math.abs(longitude - 2.3522) < 360.0 / (1L << Geohash.lonBits(6)));
+    }
+
+    @Test
+    void edgesClampIntoTheGrid() {
+        assertEquals((1L << Geohash.lonBits(4)) - 1, Geohash.column(180, 4));
+        assertEquals(0, Geohash.column(-180, 4));
+        assertEquals((1L << Geohash.latBits(4)) - 1, Geohash.row(90, 4));
+        assertEquals(0, Geohash.row(-90, 4));
+    }
+}
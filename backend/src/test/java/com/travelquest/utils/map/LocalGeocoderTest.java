@@ -0,0 +1,103 @@
+package com.travelquest.utils.map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LocalGeocoderTest {
+
+    @TempDir
+    Path dir;
+
+    private Path cities;
+    private Path admin1;
+    private Path countries;
+
+    @BeforeEach
+    void writeGazetteer() throws IOException {
+        cities = Files.write(dir.resolve("cities.txt"), List.of(
+                city(1, "Paris", 48.85341, 2.3488, "P", "FR", "11", 2138551),
+                city(2, "Versailles", 48.80359, 2.13424, "P", "FR", "11", 85416),
+                city(3, "Lyon", 45.74846, 4.84671, "P", "FR", "84", 522969),
+                city(4, "Hamlet", 48.90, 2.40, "P", "FR", "11", 12),
+                city(5, "Mont Blanc", 45.83, 6.86, "T", "FR", "84", 0),
+                city(6, "Taveuni", -16.85, 179.95, "P", "FJ", "03", 9000),
+                "too\tshort"));
+        admin1 = Files.write(dir.resolve("admin1.txt"), List.of(
+                "FR.11\tÎle-de-France\tIle-de-France\t3012874",
+                "FR.84\tAuvergne-Rhône-Alpes\tAuvergne-Rhone-Alpes\t11071625"));
+        countries = Files.write(dir.resolve("countries.txt"), List.of(
+                "#ISO\tISO3\tISO-Numeric\tfips\tCountry",
+                "FR\tFRA\t250\tFR\tFrance",
+                "FJ\tFJI\t242\tFJ\tFiji"));
+    }
+
+    private LocalGeocoder geocoder(long minPopulation) {
+        LocalGeocoder geocoder = new LocalGeocoder(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(geocoder, "citiesFile", cities.toUri().toString());
+        ReflectionTestUtils.setField(geocoder, "admin1File", admin1.toUri().toString());
+        ReflectionTestUtils.setField(geocoder, "countriesFile", countries.toUri().toString());
+        ReflectionTestUtils.setField(geocoder, "maxDistanceKm", 25.0);
+        ReflectionTestUtils.setField(geocoder, "minPopulation", minPopulation);
+        geocoder.init();
+        return geocoder;
+    }
+
+    @Test
+    void loadsOnlyPopulatedPlaces() {
+        assertEquals(5, geocoder(0).size());
+    }
+
+    @Test
+    void returnsTheNearestPlaceWithRegionAndCountryNames() {
+        LocalGeocoder geocoder = geocoder(0);
+        assertEquals(Map.of("city", "Paris", "region", "Île-de-France", "country", "France"),
+                geocoder.reverseGeocode(48.86, 2.35));
+        assertEquals("Versailles", geocoder.reverseGeocode(48.80, 2.13).get("city"));
+        assertEquals("Lyon", geocoder.reverseGeocode(45.76, 4.83).get("city"));
+    }
+
+    @Test
+    void findsPlacesAcrossTheAntimeridian() {
+        assertEquals("Fiji", geocoder(0).reverseGeocode(-16.85, -179.98).get("country"));
+    }
+
+    @Test
+    void returnsNullBeyondTheMaximumDistance() {
+        assertNull(geocoder(0).reverseGeocode(47.5, 3.5));
+        assertNull(geocoder(0).reverseGeocode(0, 0));
+    }
+
+    @Test
+    void skipsPlacesBelowTheMinimumPopulation() {
+        LocalGeocoder geocoder = geocoder(100);
+        assertEquals(4, geocoder.size());
+        assertEquals("Paris", geocoder.reverseGeocode(48.90, 2.40).get("city"));
+    }
+
+    @Test
+    void returnsNullWithoutAGazetteer() {
+        LocalGeocoder geocoder = new LocalGeocoder(new DefaultResourceLoader());
+        geocoder.init();
+        assertFalse(geocoder.isLoaded());
+        assertNull(geocoder.reverseGeocode(48.86, 2.35));
+    }
+
+    private static String city(int id, String name, double latitude, double longitude, String featureClass,
+                               String country, String admin1, long population) {
+        return String.join("\t", String.valueOf(id), name, name, "", String.valueOf(latitude), String.valueOf(longitude),
+                featureClass, "PPL", country, "", admin1, "", "", "", String.valueOf(population), "", "", "Europe/Paris", "2024-01-01");
+    }
+}
@@ -0,0 +1,48 @@
+package com.travelquest.utils.pagination;
+
+import com.travelquest.exceptions.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedCursorTest {
+
+    @Test
+    void roundTrips() {
+        FeedCursor cursor = new FeedCursor(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000), 42L);
+        assertEquals(cursor, FeedCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+        String encoded = new FeedCursor(LocalDateTime.of(2026, 1, 1, 0, 0), 7L).encode();
+        assertFalse(encoded.contains("="));
+        assertFalse(encoded.contains("+"));
+        assertFalse(encoded.contains("/"));
+    }
+
+    @Test
+    void rejectsMalformedCursorsWithBadRequest() {
+        for (String malformed : new String[]{null, "", "not base64!", encode("2026-01-01T00:00"),
+                encode("yesterday|1"), encode("2026-01-01T00:00|x")}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(malformed));
+
+            ResponseEntity<Map<String, String>> response = new GlobalExceptionHandler().handleIllegalArgument(e);
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertEquals("Invalid cursor", response.getBody().get("error"));
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
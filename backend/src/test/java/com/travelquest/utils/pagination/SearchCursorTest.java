@@ -0,0 +1,39 @@
+package com.travelquest.utils.pagination;
+
+import com.travelquest.exceptions.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchCursorTest {
+
+    @Test
+    void roundTrips() {
+        SearchCursor cursor = new SearchCursor(0.0607927f, 9_007_199_254_740_993L);
+        assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void missingCursorStartsAtTheFirstPage() {
+        assertSame(SearchCursor.FIRST, SearchCursor.decode(null));
+        assertSame(SearchCursor.FIRST, SearchCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsMalformedCursorsWithBadRequest() {
+        for (String malformed : new String[]{"%%%", encode("0.5"), encode("high|1"), encode("0.5|")}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(malformed));
+            assertEquals(HttpStatus.BAD_REQUEST, new GlobalExceptionHandler().handleIllegalArgument(e).getStatusCode());
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,43 @@
+package com.travelquest.utils.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchQueryTest {
+
+    @Test
+    void joinsWordsAsPrefixTerms() {
+        assertEquals("old:* & tow:*", SearchQuery.toPrefixQuery("Old  tow"));
+    }
+
+    @Test
+    void keepsWordsWithApostrophesWhole() {
+        assertEquals("towns:* & walk:*", SearchQuery.toPrefixQuery("town's walk"));
+        assertEquals("o:* & neills:*", SearchQuery.toPrefixQuery("O. Neill’s"));
+    }
+
+    @Test
+    void dropsOperatorsAndPunctuation() {
+        assertEquals("rock:* & roll:*", SearchQuery.toPrefixQuery("rock & !roll | ):*"));
+    }
+
+    @Test
+    void keepsLettersAndDigitsOfAnyScript() {
+        assertEquals("café:* & 42:* & 東京:*", SearchQuery.toPrefixQuery("Café 42 東京"));
+    }
+
+    @Test
+    void limitsTheNumberOfTerms() {
+        assertEquals("a:* & b:* & c:* & d:* & e:* & f:* & g:* & h:*",
+                SearchQuery.toPrefixQuery("a b c d e f g h i j"));
+    }
+
+    @Test
+    void returnsNullWhenNothingIsLeft() {
+        assertNull(SearchQuery.toPrefixQuery(null));
+        assertNull(SearchQuery.toPrefixQuery(""));
+        assertNull(SearchQuery.toPrefixQuery(" '&|! "));
+    }
+}
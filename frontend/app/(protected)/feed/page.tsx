@@ -10,18 +10,29 @@ import Link from "next/link"
 import { Loader2 } from "lucide-react"
 import { motion } from "framer-motion";
 import { AdventurePublicDTO } from "@/types/AdventurePublicDTO"
+import { CursorPageDTO } from "@/types/CursorPageDTO"
+
+const PAGE_SIZE = 6
 
 export default function AdventureFeedsPage() {
     const [adventures, setAdventures] = useState<AdventurePublicDTO[]>([])
-    const [visibleCount, setVisibleCount] = useState(6)
+    const [nextCursor, setNextCursor] = useState<string | null>(null)
     const [loading, setLoading] = useState(false)
+    const [loadingMore, setLoadingMore] = useState(false)
+
+    const fetchPage = async (cursor: string | null) => {
+        const res = await axios.get<CursorPageDTO<AdventurePublicDTO>>("/api/adventures/feed/page", {
+            params: { size: PAGE_SIZE, ...(cursor ? { cursor } : {}) },
+        })
+        setAdventures((prev) => (cursor ? [...prev, ...res.data.items] : res.data.items))
+        setNextCursor(res.data.nextCursor)
+    }
 
     useEffect(() => {
         const fetchAdventures = async () => {
             setLoading(true)
             try {
-                const res = await axios.get("/api/adventures/feed")
-                setAdventures(res.data)
+                await fetchPage(null)
             } catch (err) {
                 console.error("Failed to fetch adventures", err)
             } finally {
@@ -32,8 +43,16 @@ export default function AdventureFeedsPage() {
         fetchAdventures()
     }, [])
 
-    const handleViewMore = () => {
-        setVisibleCount((prev) => prev + 6)
+    const handleViewMore = async () => {
+        if (!nextCursor) return
+        setLoadingMore(true)
+        try {
+            await fetchPage(nextCursor)
+        } catch (err) {
+            console.error("Failed to fetch more adventures", err)
+        } finally {
+            setLoadingMore(false)
+        }
     }
 
     return (
@@ -53,7 +72,7 @@ export default function AdventureFeedsPage() {
             ) : (
                 <>
                     <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-                        {adventures.slice(0, visibleCount).map((adventure, index) => (
+                        {adventures.map((adventure, index) => (
                             <motion.div
                                 key={adventure.id}
                                 layout
@@ -62,7 +81,7 @@ export default function AdventureFeedsPage() {
                                 exit={{ opacity: 0, scale: 0.95 }}
                                 transition={{
                                     duration: 0.3,
-                                    delay: index * 0.05,
+                                    delay: (index % PAGE_SIZE) * 0.05,
                                 }}
                                 whileHover={{
                                     scale: 1.03,
@@ -129,9 +148,11 @@ export default function AdventureFeedsPage() {
                     </div>
 
                     {/* View More Button */}
-                    {visibleCount < adventures.length && (
+                    {nextCursor && (
                         <div className="flex justify-center mt-10">
-                            <Button onClick={handleViewMore}>View More</Button>
+                            <Button onClick={handleViewMore} disabled={loadingMore}>
+                                {loadingMore ? <Loader2 className="animate-spin w-4 h-4" /> : "View More"}
+                            </Button>
                         </div>
                     )}
                 </>
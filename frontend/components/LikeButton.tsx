@@ -21,15 +21,11 @@ export default function LikeButton({ adventureId, initialLikes, initiallyLiked }
     setLoading(true)
 
     try {
-      if (liked) {
-        await axios.delete(`/api/adventures/${adventureId}/like`)
-        setLikes((prev) => prev - 1)
-        setLiked(false)
-      } else {
-        await axios.post(`/api/adventures/${adventureId}/like`)
-        setLikes((prev) => prev + 1)
-        setLiked(true)
-      }
+      const res = liked
+        ? await axios.delete(`/api/adventures/${adventureId}/like`)
+        : await axios.post(`/api/adventures/${adventureId}/like`)
+      setLikes(res.data.likesCount)
+      setLiked(res.data.liked)
     } catch (error) {
       console.error("Error toggling like", error)
     } finally {
@@ -0,0 +1,4 @@
+export interface CursorPageDTO<T> {
+  items: T[];
+  nextCursor: string | null;
+}